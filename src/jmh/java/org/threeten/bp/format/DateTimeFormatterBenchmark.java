@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneOffset;
+
+/**
+ * Benchmarks for formatting and parsing using {@code DateTimeFormatter}.
+ * <p>
+ * Run using {@code mvn -Pjmh test -Djmh.benchmarks=DateTimeFormatterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DateTimeFormatterBenchmark {
+
+    private static final DateTimeFormatter PATTERN = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final LocalDateTime localDateTime = LocalDateTime.of(2018, 10, 27, 12, 30, 20, 123456789);
+    private final OffsetDateTime offsetDateTime = OffsetDateTime.of(localDateTime, ZoneOffset.ofHours(2));
+    private final Instant instant = localDateTime.toInstant(ZoneOffset.UTC);
+    private final String localDateTimeText = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(localDateTime);
+    private final String offsetDateTimeText = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(offsetDateTime);
+    private final String instantText = DateTimeFormatter.ISO_INSTANT.format(instant);
+    private final String patternText = PATTERN.format(localDateTime);
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public String formatLocalDateTime() {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(localDateTime);
+    }
+
+    @Benchmark
+    public String formatOffsetDateTime() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(offsetDateTime);
+    }
+
+    @Benchmark
+    public String formatInstant() {
+        return DateTimeFormatter.ISO_INSTANT.format(instant);
+    }
+
+    @Benchmark
+    public String formatPattern() {
+        return PATTERN.format(localDateTime);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDateTime parseLocalDateTime() {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(localDateTimeText, LocalDateTime.FROM);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseOffsetDateTime() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(offsetDateTimeText, OffsetDateTime.FROM);
+    }
+
+    @Benchmark
+    public Instant parseInstant() {
+        return DateTimeFormatter.ISO_INSTANT.parse(instantText, Instant.FROM);
+    }
+
+    @Benchmark
+    public LocalDateTime parsePattern() {
+        return PATTERN.parse(patternText, LocalDateTime.FROM);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDateTime parseLocalDateTimeDirect() {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.parseLocalDateTime(localDateTimeText);
+    }
+
+    @Benchmark
+    public Instant parseInstantDirect() {
+        return DateTimeFormatter.ISO_INSTANT.parseInstant(instantText);
+    }
+
+    @Benchmark
+    public LocalDateTime parsePatternDirect() {
+        return PATTERN.parseLocalDateTime(patternText);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.zone;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+
+/**
+ * Benchmarks for zone lookup and offset calculation.
+ * <p>
+ * The historic case is answered from the transition arrays, the future case
+ * from the last rules.
+ * <p>
+ * Run using {@code mvn -Pjmh test -Djmh.benchmarks=ZoneRulesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ZoneRulesBenchmark {
+
+    private final ZoneRules rules = ZoneId.of("Europe/London").getRules();
+    private final LocalDateTime historicDateTime = LocalDateTime.of(1980, 6, 1, 12, 0);
+    private final LocalDateTime futureDateTime = LocalDateTime.of(2050, 6, 1, 12, 0);
+    private final Instant historicInstant = historicDateTime.toInstant(ZoneOffset.UTC);
+    private final Instant futureInstant = futureDateTime.toInstant(ZoneOffset.UTC);
+    private String zoneId = "Europe/London";
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ZoneId zoneIdOf() {
+        return ZoneId.of(zoneId);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ZoneOffset getOffsetInstantHistoric() {
+        return rules.getOffset(historicInstant);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffsetInstantFuture() {
+        return rules.getOffset(futureInstant);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffsetLocalDateTimeHistoric() {
+        return rules.getOffset(historicDateTime);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffsetLocalDateTimeFuture() {
+        return rules.getOffset(futureDateTime);
+    }
+
+}
@@ -255,6 +255,57 @@ public abstract class Clock {
         return new TickClock(baseClock, tickNanos);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a clock that returns a cached copy of the current instant,
+     * refreshed from the system clock in the UTC time-zone at the specified resolution.
+     * <p>
+     * This is equivalent to {@code cached(Clock.systemUTC(), resolution)}.
+     *
+     * @param resolution  the interval between refreshes of the cached instant, positive, not null
+     * @return a started cached clock, not null
+     * @throws IllegalArgumentException if the resolution is zero or negative
+     * @throws ArithmeticException if the resolution is too large to be represented as nanos
+     */
+    public static CachedClock cached(Duration resolution) {
+        return cached(systemUTC(), resolution);
+    }
+
+    /**
+     * Obtains a clock that returns a cached copy of the instant from the
+     * specified clock, refreshed at the specified resolution.
+     * <p>
+     * A single daemon thread queries the base clock once per interval of the
+     * resolution and publishes the result. Querying the returned clock is then
+     * a single volatile read that allocates nothing, making it suitable for
+     * stamping events at very high rates where precision is less important.
+     * The returned instant may lag the base clock by up to the resolution,
+     * plus any delay in scheduling the refresh thread.
+     * <p>
+     * The returned clock has already been started.
+     * Call {@link CachedClock#stop()} to end the refresh thread when the clock is
+     * no longer needed. While stopped, the clock queries the base clock directly.
+     * <p>
+     * The returned implementation is thread-safe but is not {@code Serializable}.
+     *
+     * @param baseClock  the base clock to cache instants from, not null
+     * @param resolution  the interval between refreshes of the cached instant, positive, not null
+     * @return a started cached clock, not null
+     * @throws IllegalArgumentException if the resolution is zero or negative
+     * @throws ArithmeticException if the resolution is too large to be represented as nanos
+     */
+    public static CachedClock cached(Clock baseClock, Duration resolution) {
+        Jdk8Methods.requireNonNull(baseClock, "baseClock");
+        Jdk8Methods.requireNonNull(resolution, "resolution");
+        if (resolution.isNegative() || resolution.isZero()) {
+            throw new IllegalArgumentException("Resolution must be positive");
+        }
+        long resolutionNanos = resolution.toNanos();
+        CachedClock clock = new CachedClock(new Refresher(baseClock, resolutionNanos), baseClock.getZone());
+        clock.start();
+        return clock;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Obtains a clock that always returns the same instant.
@@ -598,4 +649,166 @@ public abstract class Clock {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * A clock that returns a cached instant refreshed by a background thread.
+     * <p>
+     * Instances are obtained from {@link Clock#cached(Clock, Duration)}.
+     * The refresh thread is shared between this clock and any clock obtained
+     * from it using {@link #withZone(ZoneId)}, thus starting or stopping any
+     * of them starts or stops all of them.
+     * If the base clock throws an exception when refreshing, the refresh thread stops,
+     * and this clock queries the base clock directly until restarted.
+     * <p>
+     * This class is thread-safe but is not {@code Serializable}.
+     */
+    public static final class CachedClock extends Clock {
+        private final Refresher refresher;
+        private final ZoneId zone;
+
+        CachedClock(Refresher refresher, ZoneId zone) {
+            this.refresher = refresher;
+            this.zone = zone;
+        }
+
+        /**
+         * Starts the refresh thread, if not already running.
+         * <p>
+         * The cached instant is published before this method returns.
+         */
+        public void start() {
+            refresher.start();
+        }
+
+        /**
+         * Stops the refresh thread, if running.
+         * <p>
+         * Once stopped, this clock queries the base clock directly until restarted.
+         */
+        public void stop() {
+            refresher.stop();
+        }
+
+        /**
+         * Checks if the refresh thread is running.
+         *
+         * @return true if the cached instant is being refreshed
+         */
+        public boolean isStarted() {
+            return refresher.isStarted();
+        }
+
+        /**
+         * Gets the interval between refreshes of the cached instant.
+         *
+         * @return the resolution, not null
+         */
+        public Duration getResolution() {
+            return Duration.ofNanos(refresher.resolutionNanos);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+        @Override
+        public CachedClock withZone(ZoneId zone) {
+            if (zone.equals(this.zone)) {  // intentional NPE
+                return this;
+            }
+            return new CachedClock(refresher, zone);
+        }
+        @Override
+        public Instant instant() {
+            Instant instant = refresher.current;
+            return instant != null ? instant : refresher.baseClock.instant();
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof CachedClock) {
+                CachedClock other = (CachedClock) obj;
+                return refresher == other.refresher && zone.equals(other.zone);
+            }
+            return false;
+        }
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(refresher) ^ zone.hashCode();
+        }
+        @Override
+        public String toString() {
+            return "CachedClock[" + refresher.baseClock + "," + Duration.ofNanos(refresher.resolutionNanos) + "," + zone + "]";
+        }
+    }
+
+    /**
+     * Background task publishing instants from the base clock.
+     * <p>
+     * Publication and the start/stop transitions synchronize on this object,
+     * so a thread that has been stopped can never overwrite the cleared instant.
+     */
+    static final class Refresher implements Runnable {
+        private final Clock baseClock;
+        private final long resolutionNanos;
+        private volatile Instant current;
+        private Thread thread;
+
+        Refresher(Clock baseClock, long resolutionNanos) {
+            this.baseClock = baseClock;
+            this.resolutionNanos = resolutionNanos;
+        }
+
+        synchronized void start() {
+            if (thread == null) {
+                current = baseClock.instant();
+                thread = new Thread(this, "CachedClock-refresher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+
+        synchronized void stop() {
+            if (thread != null) {
+                thread.interrupt();
+                thread = null;
+                current = null;
+            }
+        }
+
+        synchronized boolean isStarted() {
+            return thread != null;
+        }
+
+        private synchronized boolean publish() {
+            if (thread != Thread.currentThread()) {
+                return false;
+            }
+            current = baseClock.instant();
+            return true;
+        }
+
+        private synchronized void abandon() {
+            if (thread == Thread.currentThread()) {
+                thread = null;
+                current = null;
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                do {
+                    try {
+                        Thread.sleep(resolutionNanos / 1000000L, (int) (resolutionNanos % 1000000L));
+                    } catch (InterruptedException ex) {
+                        // stopped, or spurious; publish re-checks ownership
+                    }
+                } while (publish());
+            } catch (RuntimeException ex) {
+                // the base clock failed, so stop and let readers query the base clock directly
+                abandon();
+            }
+        }
+    }
+
 }
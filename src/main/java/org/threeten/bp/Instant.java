@@ -218,6 +218,18 @@ public final class Instant
      * Constant for millis per sec.
      */
     private static final long MILLIS_PER_SEC = 1000;
+    /**
+     * The epoch second of '0000-01-01T00:00:00Z', the first printed with a four digit year.
+     */
+    private static final long FOUR_DIGIT_YEAR_MIN_SECOND = -62167219200L;
+    /**
+     * The epoch second of '9999-12-31T23:59:59Z', the last printed with a four digit year.
+     */
+    private static final long FOUR_DIGIT_YEAR_MAX_SECOND = 253402300799L;
+    /**
+     * The length of the longest four digit year text, '9999-12-31T23:59:59.999999999Z'.
+     */
+    private static final int FOUR_DIGIT_YEAR_MAX_LENGTH = 30;
 
     /**
      * The number of seconds from the epoch of 1970-01-01T00:00:00Z.
@@ -359,7 +371,9 @@ public final class Instant
      * @throws DateTimeParseException if the text cannot be parsed
      */
     public static Instant parse(final CharSequence text) {
-        return DateTimeFormatter.ISO_INSTANT.parse(text, Instant.FROM);
+        Jdk8Methods.requireNonNull(text, "text");
+        Instant parsed = IsoParsers.parseInstant(text);
+        return (parsed != null ? parsed : DateTimeFormatter.ISO_INSTANT.parseInstant(text));
     }
 
     //-----------------------------------------------------------------------
@@ -1159,7 +1173,44 @@ public final class Instant
      */
     @Override
     public String toString() {
-        return DateTimeFormatter.ISO_INSTANT.format(this);
+        if (seconds < FOUR_DIGIT_YEAR_MIN_SECOND || seconds > FOUR_DIGIT_YEAR_MAX_SECOND) {
+            return DateTimeFormatter.ISO_INSTANT.format(this);
+        }
+        char[] chars = new char[FOUR_DIGIT_YEAR_MAX_LENGTH];
+        return new String(chars, 0, print(chars));
+    }
+
+    /**
+     * Appends this instant to the specified builder, such as {@code 2007-12-03T10:15:30.00Z}.
+     * <p>
+     * The text is the same as {@link #toString()}, but is written directly
+     * to the builder without creating an intermediate {@code String}.
+     *
+     * @param buf  the builder to append to, not null
+     * @return the builder, not null
+     */
+    public StringBuilder appendTo(StringBuilder buf) {
+        Jdk8Methods.requireNonNull(buf, "buf");
+        if (seconds < FOUR_DIGIT_YEAR_MIN_SECOND || seconds > FOUR_DIGIT_YEAR_MAX_SECOND) {
+            DateTimeFormatter.ISO_INSTANT.formatTo(this, buf);
+            return buf;
+        }
+        char[] chars = new char[FOUR_DIGIT_YEAR_MAX_LENGTH];
+        return buf.append(chars, 0, print(chars));
+    }
+
+    /**
+     * Prints this instant, which must have a four digit year, as ISO_INSTANT would.
+     */
+    private int print(char[] chars) {
+        LocalDate date = LocalDate.ofEpochDay(Jdk8Methods.floorDiv(seconds, SECONDS_PER_DAY));
+        int secondOfDay = Jdk8Methods.floorMod(seconds, SECONDS_PER_DAY);
+        int pos = IsoPrinters.printDate(chars, 0, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        chars[pos++] = 'T';
+        pos = IsoPrinters.printTime(chars, pos, secondOfDay / SECONDS_PER_HOUR,
+                (secondOfDay / SECONDS_PER_MINUTE) % 60, secondOfDay % SECONDS_PER_MINUTE, nanos, true);
+        chars[pos++] = 'Z';
+        return pos;
     }
 
     //-----------------------------------------------------------------------
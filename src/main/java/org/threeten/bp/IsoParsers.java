@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import org.threeten.bp.zone.ZoneRulesProvider;
+
+/**
+ * Single-pass parsers for the canonical ISO-8601 text output by {@code toString()}.
+ * <p>
+ * The {@code parse(CharSequence)} methods try these first. Each method returns
+ * null if the text is not exactly in the canonical form, or if any value is out
+ * of range, such as the 30th February. The caller then falls back to the matching
+ * {@code DateTimeFormatter}, which accepts the full format and reports errors.
+ * When a result is returned it is equal to the one the formatter would produce.
+ * <p>
+ * The canonical forms are a four digit year without a sign, an upper-case 'T'
+ * separator, an optional second with 1 to 9 fraction digits, and an offset of
+ * 'Z', '+HH:MM' or '+HH:MM:SS'.
+ */
+final class IsoParsers {
+
+    /**
+     * Restricted constructor.
+     */
+    private IsoParsers() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses text such as {@code 2007-12-03}.
+     *
+     * @param text  the text to parse, not null
+     * @return the date, null if not canonical
+     */
+    static LocalDate parseLocalDate(CharSequence text) {
+        if (text.length() != 10) {
+            return null;
+        }
+        return date(text);
+    }
+
+    /**
+     * Parses text such as {@code 10:15:30}.
+     *
+     * @param text  the text to parse, not null
+     * @return the time, null if not canonical
+     */
+    static LocalTime parseLocalTime(CharSequence text) {
+        int timeLength = timeLength(text, 0);
+        if (timeLength != text.length()) {
+            return null;
+        }
+        return time(text, 0, timeLength);
+    }
+
+    /**
+     * Parses text such as {@code 2007-12-03T10:15:30}.
+     *
+     * @param text  the text to parse, not null
+     * @return the date-time, null if not canonical
+     */
+    static LocalDateTime parseLocalDateTime(CharSequence text) {
+        int timeLength = timeLength(text, 11);
+        if (timeLength < 0 || 11 + timeLength != text.length()) {
+            return null;
+        }
+        return dateTime(text, timeLength);
+    }
+
+    /**
+     * Parses text such as {@code 2007-12-03T10:15:30+01:00}.
+     *
+     * @param text  the text to parse, not null
+     * @return the date-time, null if not canonical
+     */
+    static OffsetDateTime parseOffsetDateTime(CharSequence text) {
+        int timeLength = timeLength(text, 11);
+        if (timeLength < 0) {
+            return null;
+        }
+        int offsetPos = 11 + timeLength;
+        int offsetLength = offsetLength(text, offsetPos);
+        if (offsetLength < 0 || offsetPos + offsetLength != text.length()) {
+            return null;
+        }
+        LocalDateTime dateTime = dateTime(text, timeLength);
+        ZoneOffset offset = offset(text, offsetPos, offsetLength);
+        if (dateTime == null || offset == null) {
+            return null;
+        }
+        return OffsetDateTime.of(dateTime, offset);
+    }
+
+    /**
+     * Parses text such as {@code 2007-12-03T10:15:30+01:00[Europe/Paris]}.
+     * <p>
+     * Only region IDs known to the provider are handled in the brackets.
+     *
+     * @param text  the text to parse, not null
+     * @return the date-time, null if not canonical
+     */
+    static ZonedDateTime parseZonedDateTime(CharSequence text) {
+        int timeLength = timeLength(text, 11);
+        if (timeLength < 0) {
+            return null;
+        }
+        int offsetPos = 11 + timeLength;
+        int offsetLength = offsetLength(text, offsetPos);
+        if (offsetLength < 0) {
+            return null;
+        }
+        int zonePos = offsetPos + offsetLength;
+        int length = text.length();
+        ZoneId zone = null;
+        if (zonePos != length) {
+            if (text.charAt(zonePos) != '[' || text.charAt(length - 1) != ']') {
+                return null;
+            }
+            zone = region(text, zonePos + 1, length - 1);
+            if (zone == null) {
+                return null;
+            }
+        }
+        LocalDateTime dateTime = dateTime(text, timeLength);
+        ZoneOffset offset = offset(text, offsetPos, offsetLength);
+        if (dateTime == null || offset == null) {
+            return null;
+        }
+        return ZonedDateTime.ofInstant(dateTime, offset, zone != null ? zone : offset);
+    }
+
+    /**
+     * Parses text such as {@code 2007-12-03T10:15:30.00Z}.
+     *
+     * @param text  the text to parse, not null
+     * @return the instant, null if not canonical
+     */
+    static Instant parseInstant(CharSequence text) {
+        int timeLength = timeLength(text, 11);
+        int length = text.length();
+        if (timeLength < 8 || 12 + timeLength != length || text.charAt(length - 1) != 'Z') {
+            return null;
+        }
+        LocalDateTime dateTime = dateTime(text, timeLength);
+        if (dateTime == null) {
+            return null;
+        }
+        return Instant.ofEpochSecond(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano());
+    }
+
+    //-----------------------------------------------------------------------
+    private static LocalDateTime dateTime(CharSequence text, int timeLength) {
+        if (text.charAt(10) != 'T') {
+            return null;
+        }
+        LocalDate date = date(text);
+        LocalTime time = time(text, 11, timeLength);
+        if (date == null || time == null) {
+            return null;
+        }
+        return LocalDateTime.of(date, time);
+    }
+
+    private static LocalDate date(CharSequence text) {
+        int century = twoDigits(text, 0);
+        int yearOfCentury = twoDigits(text, 2);
+        int month = twoDigits(text, 5);
+        int day = twoDigits(text, 8);
+        if (century < 0 || yearOfCentury < 0 || text.charAt(4) != '-' || text.charAt(7) != '-' ||
+                month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        int year = century * 100 + yearOfCentury;
+        if (day > 28 && day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Finds the length of a canonical time, which is 5 for 'HH:MM', 8 for 'HH:MM:SS'
+     * and 10 to 18 when there is a fraction.
+     * <p>
+     * The digits are not checked, only the positions of the separators.
+     */
+    private static int timeLength(CharSequence text, int pos) {
+        int length = text.length();
+        if (pos + 5 > length) {
+            return -1;
+        }
+        if (pos + 5 == length || text.charAt(pos + 5) != ':') {
+            return 5;
+        }
+        if (pos + 8 > length) {
+            return -1;
+        }
+        if (pos + 8 == length || text.charAt(pos + 8) != '.') {
+            return 8;
+        }
+        int end = pos + 9;
+        while (end < length && end < pos + 18 && digit(text.charAt(end)) >= 0) {
+            end++;
+        }
+        return (end == pos + 9 ? -1 : end - pos);
+    }
+
+    private static LocalTime time(CharSequence text, int pos, int timeLength) {
+        int hour = twoDigits(text, pos);
+        int minute = twoDigits(text, pos + 3);
+        if (hour < 0 || hour > 23 || text.charAt(pos + 2) != ':' || minute < 0 || minute > 59) {
+            return null;
+        }
+        int second = 0;
+        int nano = 0;
+        if (timeLength > 5) {
+            second = twoDigits(text, pos + 6);
+            if (second < 0 || second > 59) {
+                return null;
+            }
+            if (timeLength > 8) {
+                for (int i = 9; i < 18; i++) {
+                    nano = nano * 10 + (i < timeLength ? digit(text.charAt(pos + i)) : 0);
+                }
+            }
+        }
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    /**
+     * Finds the length of a canonical offset, which is 1 for 'Z', 6 for '+HH:MM'
+     * and 9 for '+HH:MM:SS'.
+     */
+    private static int offsetLength(CharSequence text, int pos) {
+        int length = text.length();
+        if (pos >= length) {
+            return -1;
+        }
+        char ch = text.charAt(pos);
+        if (ch == 'Z') {
+            return 1;
+        }
+        if ((ch != '+' && ch != '-') || pos + 6 > length) {
+            return -1;
+        }
+        if (pos + 6 < length && text.charAt(pos + 6) == ':') {
+            return (pos + 9 > length ? -1 : 9);
+        }
+        return 6;
+    }
+
+    private static ZoneOffset offset(CharSequence text, int pos, int offsetLength) {
+        if (offsetLength == 1) {
+            return ZoneOffset.UTC;
+        }
+        int hours = twoDigits(text, pos + 1);
+        int minutes = twoDigits(text, pos + 4);
+        int seconds = (offsetLength == 9 ? twoDigits(text, pos + 7) : 0);
+        if (hours < 0 || hours > 18 || text.charAt(pos + 3) != ':' || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59) {
+            return null;
+        }
+        int totalSeconds = hours * 3600 + minutes * 60 + seconds;
+        if (totalSeconds > 18 * 3600) {
+            return null;
+        }
+        return ZoneOffset.ofTotalSeconds(text.charAt(pos) == '-' ? -totalSeconds : totalSeconds);
+    }
+
+    /**
+     * Obtains a region ID known to the provider.
+     * <p>
+     * Text that the formatter treats specially, such as offsets and IDs starting
+     * 'UT' or 'GMT', is left to the formatter.
+     */
+    private static ZoneId region(CharSequence text, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        String id = text.subSequence(start, end).toString();
+        char first = id.charAt(0);
+        if (first == '+' || first == '-' || id.startsWith("UT") || id.startsWith("GMT")) {
+            return null;
+        }
+        if (ZoneRulesProvider.getAvailableZoneIds().contains(id) == false) {
+            return null;
+        }
+        return ZoneId.of(id);
+    }
+
+    private static int twoDigits(CharSequence text, int pos) {
+        int tens = digit(text.charAt(pos));
+        int units = digit(text.charAt(pos + 1));
+        return (tens < 0 || units < 0 ? -1 : tens * 10 + units);
+    }
+
+    private static int digit(char ch) {
+        int value = ch - '0';
+        return (value >= 0 && value <= 9 ? value : -1);
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+/**
+ * Writers for the canonical ISO-8601 text output by {@code toString()}.
+ * <p>
+ * Each method writes directly into a {@code char[]} that the caller has sized
+ * for the longest possible output, returning the position after the last
+ * character written. The text is identical to that historically produced by
+ * the {@code toString()} methods.
+ */
+final class IsoPrinters {
+
+    /**
+     * The maximum length of a date, such as '+999999999-12-31'.
+     */
+    static final int MAX_DATE_LENGTH = 16;
+    /**
+     * The maximum length of a time, such as '23:59:59.999999999'.
+     */
+    static final int MAX_TIME_LENGTH = 18;
+    /**
+     * The maximum length of a date-time.
+     */
+    static final int MAX_DATE_TIME_LENGTH = MAX_DATE_LENGTH + 1 + MAX_TIME_LENGTH;
+    /**
+     * The maximum length of an offset, such as '+18:00:00'.
+     */
+    static final int MAX_OFFSET_LENGTH = 9;
+
+    /**
+     * Restricted constructor.
+     */
+    private IsoPrinters() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Prints a date, such as '2007-12-03'.
+     * <p>
+     * The year has at least four digits, with a sign if negative or if above 9999.
+     */
+    static int printDate(char[] buf, int pos, int year, int month, int day) {
+        int absYear = Math.abs(year);
+        if (year < 0) {
+            buf[pos++] = '-';
+        } else if (year > 9999) {
+            buf[pos++] = '+';
+        }
+        pos = printDigits(buf, pos, absYear, 4);
+        buf[pos++] = '-';
+        pos = printTwoDigits(buf, pos, month);
+        buf[pos++] = '-';
+        return printTwoDigits(buf, pos, day);
+    }
+
+    /**
+     * Prints a time, such as '10:15:30'.
+     * <p>
+     * The seconds are omitted if they and the nanoseconds are zero, unless
+     * {@code alwaysSeconds} is set. The fraction is printed in groups of three
+     * digits, using as many groups as needed, and omitted if zero.
+     */
+    static int printTime(char[] buf, int pos, int hour, int minute, int second, int nano, boolean alwaysSeconds) {
+        pos = printTwoDigits(buf, pos, hour);
+        buf[pos++] = ':';
+        pos = printTwoDigits(buf, pos, minute);
+        if (alwaysSeconds || second > 0 || nano > 0) {
+            buf[pos++] = ':';
+            pos = printTwoDigits(buf, pos, second);
+            if (nano > 0) {
+                buf[pos++] = '.';
+                if (nano % 1000000 == 0) {
+                    pos = printDigits(buf, pos, nano / 1000000, 3);
+                } else if (nano % 1000 == 0) {
+                    pos = printDigits(buf, pos, nano / 1000, 6);
+                } else {
+                    pos = printDigits(buf, pos, nano, 9);
+                }
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Prints a date-time, such as '2007-12-03T10:15:30'.
+     */
+    static int printDateTime(char[] buf, int pos, LocalDateTime dateTime) {
+        LocalDate date = dateTime.toLocalDate();
+        LocalTime time = dateTime.toLocalTime();
+        pos = printDate(buf, pos, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        buf[pos++] = 'T';
+        return printTime(buf, pos, time.getHour(), time.getMinute(), time.getSecond(), time.getNano(), false);
+    }
+
+    /**
+     * Prints the characters of a string, such as an offset or zone ID.
+     */
+    static int printString(char[] buf, int pos, String str) {
+        int length = str.length();
+        str.getChars(0, length, buf, pos);
+        return pos + length;
+    }
+
+    //-----------------------------------------------------------------------
+    private static int printTwoDigits(char[] buf, int pos, int value) {
+        buf[pos] = (char) ('0' + value / 10);
+        buf[pos + 1] = (char) ('0' + value % 10);
+        return pos + 2;
+    }
+
+    private static int printDigits(char[] buf, int pos, int value, int minWidth) {
+        int width = minWidth;
+        for (int remaining = value / pow10(minWidth); remaining > 0; remaining /= 10) {
+            width++;
+        }
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+}
@@ -349,7 +349,9 @@ public final class LocalDate
      * @throws DateTimeParseException if the text cannot be parsed
      */
     public static LocalDate parse(CharSequence text) {
-        return parse(text, DateTimeFormatter.ISO_LOCAL_DATE);
+        Jdk8Methods.requireNonNull(text, "text");
+        LocalDate parsed = IsoParsers.parseLocalDate(text);
+        return (parsed != null ? parsed : parse(text, DateTimeFormatter.ISO_LOCAL_DATE));
     }
 
     /**
@@ -364,7 +366,7 @@ public final class LocalDate
      */
     public static LocalDate parse(CharSequence text, DateTimeFormatter formatter) {
         Jdk8Methods.requireNonNull(formatter, "formatter");
-        return formatter.parse(text, LocalDate.FROM);
+        return formatter.parseLocalDate(text);
     }
 
     //-----------------------------------------------------------------------
@@ -1820,28 +1822,25 @@ public final class LocalDate
      */
     @Override
     public String toString() {
-        int yearValue = year;
-        int monthValue = month;
-        int dayValue = day;
-        int absYear = Math.abs(yearValue);
-        StringBuilder buf = new StringBuilder(10);
-        if (absYear < 1000) {
-            if (yearValue < 0) {
-                buf.append(yearValue - 10000).deleteCharAt(1);
-            } else {
-                buf.append(yearValue + 10000).deleteCharAt(0);
-            }
-        } else {
-            if (yearValue > 9999) {
-                buf.append('+');
-            }
-            buf.append(yearValue);
-        }
-        return buf.append(monthValue < 10 ? "-0" : "-")
-            .append(monthValue)
-            .append(dayValue < 10 ? "-0" : "-")
-            .append(dayValue)
-            .toString();
+        char[] chars = new char[IsoPrinters.MAX_DATE_LENGTH];
+        int length = IsoPrinters.printDate(chars, 0, year, month, day);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Appends this date to the specified builder, such as {@code 2007-12-03}.
+     * <p>
+     * The text is the same as {@link #toString()}, but is written directly
+     * to the builder without creating an intermediate {@code String}.
+     *
+     * @param buf  the builder to append to, not null
+     * @return the builder, not null
+     */
+    public StringBuilder appendTo(StringBuilder buf) {
+        Jdk8Methods.requireNonNull(buf, "buf");
+        char[] chars = new char[IsoPrinters.MAX_DATE_LENGTH];
+        int length = IsoPrinters.printDate(chars, 0, year, month, day);
+        return buf.append(chars, 0, length);
     }
 
     /**
@@ -426,7 +426,9 @@ public final class LocalDateTime
      * @throws DateTimeParseException if the text cannot be parsed
      */
     public static LocalDateTime parse(CharSequence text) {
-        return parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        Jdk8Methods.requireNonNull(text, "text");
+        LocalDateTime parsed = IsoParsers.parseLocalDateTime(text);
+        return (parsed != null ? parsed : parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
     }
 
     /**
@@ -441,7 +443,7 @@ public final class LocalDateTime
      */
     public static LocalDateTime parse(CharSequence text, DateTimeFormatter formatter) {
         Jdk8Methods.requireNonNull(formatter, "formatter");
-        return formatter.parse(text, LocalDateTime.FROM);
+        return formatter.parseLocalDateTime(text);
     }
 
     //-----------------------------------------------------------------------
@@ -1810,7 +1812,25 @@ public final class LocalDateTime
      */
     @Override
     public String toString() {
-        return date.toString() + 'T' + time.toString();
+        char[] chars = new char[IsoPrinters.MAX_DATE_TIME_LENGTH];
+        int length = IsoPrinters.printDateTime(chars, 0, this);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Appends this date-time to the specified builder, such as {@code 2007-12-03T10:15:30}.
+     * <p>
+     * The text is the same as {@link #toString()}, but is written directly
+     * to the builder without creating an intermediate {@code String}.
+     *
+     * @param buf  the builder to append to, not null
+     * @return the builder, not null
+     */
+    public StringBuilder appendTo(StringBuilder buf) {
+        Jdk8Methods.requireNonNull(buf, "buf");
+        char[] chars = new char[IsoPrinters.MAX_DATE_TIME_LENGTH];
+        int length = IsoPrinters.printDateTime(chars, 0, this);
+        return buf.append(chars, 0, length);
     }
 
     /**
@@ -419,7 +419,9 @@ public final class LocalTime
      * @throws DateTimeParseException if the text cannot be parsed
      */
     public static LocalTime parse(CharSequence text) {
-        return parse(text, DateTimeFormatter.ISO_LOCAL_TIME);
+        Jdk8Methods.requireNonNull(text, "text");
+        LocalTime parsed = IsoParsers.parseLocalTime(text);
+        return (parsed != null ? parsed : parse(text, DateTimeFormatter.ISO_LOCAL_TIME));
     }
 
     /**
@@ -1468,27 +1470,25 @@ public final class LocalTime
      */
     @Override
     public String toString() {
-        StringBuilder buf = new StringBuilder(18);
-        int hourValue = hour;
-        int minuteValue = minute;
-        int secondValue = second;
-        int nanoValue = nano;
-        buf.append(hourValue < 10 ? "0" : "").append(hourValue)
-            .append(minuteValue < 10 ? ":0" : ":").append(minuteValue);
-        if (secondValue > 0 || nanoValue > 0) {
-            buf.append(secondValue < 10 ? ":0" : ":").append(secondValue);
-            if (nanoValue > 0) {
-                buf.append('.');
-                if (nanoValue % 1000000 == 0) {
-                    buf.append(Integer.toString((nanoValue / 1000000) + 1000).substring(1));
-                } else if (nanoValue % 1000 == 0) {
-                    buf.append(Integer.toString((nanoValue / 1000) + 1000000).substring(1));
-                } else {
-                    buf.append(Integer.toString((nanoValue) + 1000000000).substring(1));
-                }
-            }
-        }
-        return buf.toString();
+        char[] chars = new char[IsoPrinters.MAX_TIME_LENGTH];
+        int length = IsoPrinters.printTime(chars, 0, hour, minute, second, nano, false);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Appends this time to the specified builder, such as {@code 10:15:30}.
+     * <p>
+     * The text is the same as {@link #toString()}, but is written directly
+     * to the builder without creating an intermediate {@code String}.
+     *
+     * @param buf  the builder to append to, not null
+     * @return the builder, not null
+     */
+    public StringBuilder appendTo(StringBuilder buf) {
+        Jdk8Methods.requireNonNull(buf, "buf");
+        char[] chars = new char[IsoPrinters.MAX_TIME_LENGTH];
+        int length = IsoPrinters.printTime(chars, 0, hour, minute, second, nano, false);
+        return buf.append(chars, 0, length);
     }
 
     /**
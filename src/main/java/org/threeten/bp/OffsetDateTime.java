@@ -341,7 +341,9 @@ public final class OffsetDateTime
      * @throws DateTimeParseException if the text cannot be parsed
      */
     public static OffsetDateTime parse(CharSequence text) {
-        return parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        Jdk8Methods.requireNonNull(text, "text");
+        OffsetDateTime parsed = IsoParsers.parseOffsetDateTime(text);
+        return (parsed != null ? parsed : parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME));
     }
 
     /**
@@ -1773,7 +1775,28 @@ public final class OffsetDateTime
      */
     @Override
     public String toString() {
-        return dateTime.toString() + offset.toString();
+        char[] chars = new char[IsoPrinters.MAX_DATE_TIME_LENGTH + IsoPrinters.MAX_OFFSET_LENGTH];
+        return new String(chars, 0, print(chars));
+    }
+
+    /**
+     * Appends this date-time to the specified builder, such as {@code 2007-12-03T10:15:30+01:00}.
+     * <p>
+     * The text is the same as {@link #toString()}, but is written directly
+     * to the builder without creating an intermediate {@code String}.
+     *
+     * @param buf  the builder to append to, not null
+     * @return the builder, not null
+     */
+    public StringBuilder appendTo(StringBuilder buf) {
+        Jdk8Methods.requireNonNull(buf, "buf");
+        char[] chars = new char[IsoPrinters.MAX_DATE_TIME_LENGTH + IsoPrinters.MAX_OFFSET_LENGTH];
+        return buf.append(chars, 0, print(chars));
+    }
+
+    private int print(char[] chars) {
+        int pos = IsoPrinters.printDateTime(chars, 0, dateTime);
+        return IsoPrinters.printString(chars, pos, offset.getId());
     }
 
     /**
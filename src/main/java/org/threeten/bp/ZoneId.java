@@ -328,6 +328,10 @@ public abstract class ZoneId implements Serializable {
      */
     public static ZoneId of(String zoneId) {
         Jdk8Methods.requireNonNull(zoneId, "zoneId");
+        ZoneRegion cached = ZoneRegion.ofCached(zoneId);
+        if (cached != null) {
+            return cached;
+        }
         if (zoneId.equals("Z")) {
             return ZoneOffset.UTC;
         }
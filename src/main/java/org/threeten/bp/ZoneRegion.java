@@ -37,7 +37,9 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.threeten.bp.jdk8.Jdk8Methods;
 import org.threeten.bp.zone.ZoneRules;
@@ -69,9 +71,17 @@ final class ZoneRegion extends ZoneId implements Serializable {
      */
     private static final long serialVersionUID = 8386373296231747096L;
     /**
-     * The regex pattern for region IDs.
+     * The cache of regions by ID.
+     * This only contains IDs with rules from a provider that permits caching,
+     * thus it is bounded by the set of available IDs.
      */
-    private static final Pattern PATTERN = Pattern.compile("[A-Za-z][A-Za-z0-9~/._+-]+");
+    private static final ConcurrentMap<String, ZoneRegion> CACHE = new ConcurrentHashMap<String, ZoneRegion>(512, 0.75f, 4);
+    /**
+     * The set of available IDs that the cache was filled against.
+     * The provider registry returns a new set whenever a provider is registered
+     * or the rules are refreshed, which invalidates the cached rules.
+     */
+    private static volatile Set<String> cacheIds;
 
     /**
      * The time-zone ID, not null.
@@ -134,9 +144,23 @@ final class ZoneRegion extends ZoneId implements Serializable {
      */
     static ZoneRegion ofId(String zoneId, boolean checkAvailable) {
         Jdk8Methods.requireNonNull(zoneId, "zoneId");
-        if (zoneId.length() < 2 || PATTERN.matcher(zoneId).matches() == false) {
+        ZoneRegion cached = ofCached(zoneId);
+        if (cached != null) {
+            return cached;
+        }
+        if (isValidId(zoneId) == false) {
             throw new DateTimeException("Invalid ID for region-based ZoneId, invalid format: " + zoneId);
         }
+        Set<String> availableIds = ZoneRulesProvider.getAvailableZoneIds();
+        if (availableIds != cacheIds) {
+            synchronized (CACHE) {
+                availableIds = ZoneRulesProvider.getAvailableZoneIds();
+                if (availableIds != cacheIds) {
+                    CACHE.clear();
+                    cacheIds = availableIds;
+                }
+            }
+        }
         ZoneRules rules = null;
         try {
             // always attempt load for better behavior after deserialization
@@ -148,8 +172,76 @@ final class ZoneRegion extends ZoneId implements Serializable {
             } else if (checkAvailable) {
                 throw ex;
             }
+            return new ZoneRegion(zoneId, rules);
+        }
+        if (rules == null) {
+            // provider has requested that the rules are not cached
+            return new ZoneRegion(zoneId, rules);
+        }
+        ZoneRegion region = new ZoneRegion(zoneId, rules);
+        cached = CACHE.putIfAbsent(zoneId, region);
+        if (cached != null) {
+            return cached;
+        }
+        if (ZoneRulesProvider.getAvailableZoneIds() != availableIds) {
+            // registry changed while loading, the rules may be stale
+            CACHE.remove(zoneId, region);
+        }
+        return region;
+    }
+
+    /**
+     * Obtains a cached instance of {@code ZoneRegion} from an identifier.
+     * <p>
+     * The cache only contains regions previously obtained via {@link #ofId(String, boolean)}.
+     * These never have the ID of a fixed offset, such as "Z", "UTC" or "GMT+01:00".
+     *
+     * @param zoneId  the time-zone ID, not null
+     * @return the cached zone ID, null if not cached or the cache is stale
+     */
+    static ZoneRegion ofCached(String zoneId) {
+        if (ZoneRulesProvider.getAvailableZoneIds() != cacheIds) {
+            return null;
+        }
+        return CACHE.get(zoneId);
+    }
+
+    /**
+     * Checks if the identifier has a valid format for a region ID.
+     * <p>
+     * A valid ID has at least two characters, starts with an ASCII letter,
+     * and continues with ASCII letters, digits or the characters '~/._+-'.
+     *
+     * @param zoneId  the time-zone ID, not null
+     * @return true if the format is valid
+     */
+    static boolean isValidId(String zoneId) {
+        int length = zoneId.length();
+        if (length < 2) {
+            return false;
+        }
+        char first = zoneId.charAt(0);
+        if ((first < 'a' || first > 'z') && (first < 'A' || first > 'Z')) {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char ch = zoneId.charAt(i);
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')) {
+                continue;
+            }
+            switch (ch) {
+                case '~':
+                case '/':
+                case '.':
+                case '_':
+                case '+':
+                case '-':
+                    continue;
+                default:
+                    return false;
+            }
         }
-        return new ZoneRegion(zoneId, rules);
+        return true;
     }
 
     //-------------------------------------------------------------------------
@@ -544,7 +544,9 @@ public final class ZonedDateTime
      * @throws DateTimeParseException if the text cannot be parsed
      */
     public static ZonedDateTime parse(CharSequence text) {
-        return parse(text, DateTimeFormatter.ISO_ZONED_DATE_TIME);
+        Jdk8Methods.requireNonNull(text, "text");
+        ZonedDateTime parsed = IsoParsers.parseZonedDateTime(text);
+        return (parsed != null ? parsed : parse(text, DateTimeFormatter.ISO_ZONED_DATE_TIME));
     }
 
     /**
@@ -2074,11 +2076,39 @@ public final class ZonedDateTime
      */
     @Override  // override for Javadoc
     public String toString() {
-        String str = dateTime.toString() + offset.toString();
+        char[] chars = new char[maxLength()];
+        return new String(chars, 0, print(chars));
+    }
+
+    /**
+     * Appends this date-time to the specified builder, such as {@code 2007-12-03T10:15:30+01:00[Europe/Paris]}.
+     * <p>
+     * The text is the same as {@link #toString()}, but is written directly
+     * to the builder without creating an intermediate {@code String}.
+     *
+     * @param buf  the builder to append to, not null
+     * @return the builder, not null
+     */
+    public StringBuilder appendTo(StringBuilder buf) {
+        Jdk8Methods.requireNonNull(buf, "buf");
+        char[] chars = new char[maxLength()];
+        return buf.append(chars, 0, print(chars));
+    }
+
+    private int maxLength() {
+        int length = IsoPrinters.MAX_DATE_TIME_LENGTH + IsoPrinters.MAX_OFFSET_LENGTH;
+        return (offset != zone ? length + zone.getId().length() + 2 : length);
+    }
+
+    private int print(char[] chars) {
+        int pos = IsoPrinters.printDateTime(chars, 0, dateTime);
+        pos = IsoPrinters.printString(chars, pos, offset.getId());
         if (offset != zone) {
-            str += '[' + zone.toString() + ']';
+            chars[pos++] = '[';
+            pos = IsoPrinters.printString(chars, pos, zone.getId());
+            chars[pos++] = ']';
         }
-        return str;
+        return pos;
     }
 
     /**
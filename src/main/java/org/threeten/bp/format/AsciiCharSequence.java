@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only view of US-ASCII bytes as characters.
+ * <p>
+ * This allows bytes read from the network or a file to be parsed without
+ * first decoding them to a {@code String}. Each byte is one character.
+ * Bytes outside US-ASCII are seen as the replacement character U+FFFD,
+ * which never matches a digit or literal in a formatter.
+ * <p>
+ * The view covers the bytes from the position to the limit of the buffer at
+ * the time the view was created. Changes to the bytes are visible in the view.
+ */
+final class AsciiCharSequence implements CharSequence {
+
+    /**
+     * The bytes.
+     */
+    private final ByteBuffer bytes;
+    /**
+     * The index of the first byte in the buffer.
+     */
+    private final int start;
+    /**
+     * The number of bytes in the view.
+     */
+    private final int length;
+
+    /**
+     * Creates a view of the remaining bytes in the buffer.
+     *
+     * @param bytes  the bytes, not null
+     */
+    AsciiCharSequence(ByteBuffer bytes) {
+        this(bytes, bytes.position(), bytes.remaining());
+    }
+
+    private AsciiCharSequence(ByteBuffer bytes, int start, int length) {
+        this.bytes = bytes;
+        this.start = start;
+        this.length = length;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        byte value = bytes.get(start + index);
+        return (value >= 0 ? (char) value : '\uFFFD');
+    }
+
+    @Override
+    public CharSequence subSequence(int startIndex, int endIndex) {
+        if (startIndex < 0 || endIndex > length || startIndex > endIndex) {
+            throw new IndexOutOfBoundsException("Start: " + startIndex + ", End: " + endIndex + ", Length: " + length);
+        }
+        return new AsciiCharSequence(bytes, start + startIndex, endIndex - startIndex);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a bulk operation over a range of indices in chunks using an executor.
+ * <p>
+ * The range is split into contiguous chunks, each of which is processed by a single task.
+ * Each task is expected to use its own parse or print state, as that state is not thread-safe.
+ * The chunks are claimed in turn by the submitted tasks and by the calling thread,
+ * thus the caller only waits for chunks that are already in progress, and never for a
+ * task still queued in the executor. This allows a bulk operation to be called from a
+ * thread of the same executor without deadlock.
+ * Any failure is reported deterministically by rethrowing the failure of the lowest chunk that failed.
+ * <p>
+ * If the executor rejects a task, the remaining chunks are run in the calling thread.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and intended for use by a single bulk operation.
+ */
+abstract class ChunkedExecution {
+
+    /**
+     * The minimum number of elements in a chunk.
+     * Smaller chunks cost more in task overhead than is gained by parallelism.
+     */
+    static final int MIN_CHUNK_SIZE = 1024;
+    /**
+     * The number of chunks to aim for per available processor, allowing for uneven progress.
+     */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    /**
+     * The failures, indexed by chunk, null where the chunk succeeded.
+     */
+    private Throwable[] failures;
+
+    /**
+     * Processes a single chunk.
+     * <p>
+     * This is called once for each chunk, potentially in parallel with other chunks.
+     *
+     * @param chunk  the index of the chunk, from zero
+     * @param from  the first index to process, inclusive
+     * @param to  the last index to process, exclusive
+     */
+    abstract void process(int chunk, int from, int to);
+
+    /**
+     * Calculates the number of chunks for the specified number of elements.
+     *
+     * @param length  the number of elements, not negative
+     * @return the number of chunks, at least one
+     */
+    static int chunkCount(int length) {
+        int maxChunks = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR;
+        int chunks = Math.min(maxChunks, length / MIN_CHUNK_SIZE);
+        return Math.max(chunks, 1);
+    }
+
+    /**
+     * Processes the specified number of elements in the specified number of chunks.
+     * <p>
+     * The calling thread processes chunks until none remain to be claimed.
+     * This method then blocks until the chunks claimed by other threads have completed.
+     *
+     * @param executor  the executor to use, not null
+     * @param length  the number of elements, not negative
+     * @param chunks  the number of chunks, from {@link #chunkCount(int)}
+     * @throws RuntimeException if a chunk failed, the failure of the lowest chunk,
+     *  or if the executor failed other than by rejecting a task
+     */
+    final void execute(Executor executor, final int length, final int chunks) {
+        failures = new Throwable[chunks];
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(chunks);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                runChunks(nextChunk, latch, length, chunks);
+            }
+        };
+        RuntimeException executorFailure = null;
+        for (int i = 0; i < chunks - 1 && nextChunk.get() < chunks; i++) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                break;
+            } catch (RuntimeException ex) {
+                // the submitted tasks write to the caller's arrays, so wait for them before failing
+                executorFailure = ex;
+                break;
+            }
+        }
+        runChunks(nextChunk, latch, length, chunks);
+        await(latch);
+        if (executorFailure != null) {
+            throw executorFailure;
+        }
+        for (Throwable failure : failures) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+        }
+    }
+
+    /**
+     * Claims and processes chunks until none remain.
+     */
+    private void runChunks(AtomicInteger nextChunk, CountDownLatch latch, int length, int chunks) {
+        int chunk;
+        while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+            try {
+                process(chunk, start(length, chunks, chunk), start(length, chunks, chunk + 1));
+            } catch (Throwable ex) {
+                failures[chunk] = ex;
+            } finally {
+                latch.countDown();
+            }
+        }
+    }
+
+    /**
+     * Gets the first index of a chunk, spreading any remainder over the early chunks.
+     */
+    private static int start(int length, int chunks, int chunk) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+    /**
+     * Waits for the latch, deferring any interrupt as the chunks write to the caller's arrays.
+     */
+    private static void await(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
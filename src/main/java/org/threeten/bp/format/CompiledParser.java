@@ -0,0 +1,808 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.Month;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.chrono.Chronology;
+import org.threeten.bp.chrono.IsoChronology;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CharLiteralPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompositePrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.DateTimePrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.FractionPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.InstantPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.NumberPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.OffsetIdPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.SettingsParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.StringLiteralPrinterParser;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * Parser compiled from a chain of simple printer-parsers.
+ * <p>
+ * Most formatters in common use, including the ISO formatters, consist only of
+ * numeric fields, literals, fractions, offsets and instants. Text parsed by such a
+ * formatter can be read into primitive values and the date-time created directly,
+ * avoiding the parse context, the map of parsed fields and the resolving process.
+ * <p>
+ * The result is identical to that of the general parse.
+ * If the text contains anything this class does not handle, such as a sign,
+ * a value outside the normal range or an invalid date, the parse methods return null
+ * and the caller must fall back to the general parse, which handles the resolver style
+ * and reports any error.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ */
+final class CompiledParser {
+
+    // the kinds of element
+    private static final int CHAR_LITERAL = 0;
+    private static final int STRING_LITERAL = 1;
+    private static final int NUMBER = 2;
+    private static final int FRACTION = 3;
+    private static final int OFFSET_ID = 4;
+    private static final int INSTANT = 5;
+    private static final int OPTIONAL = 6;
+
+    // the values that can be parsed, also used as bits for what has been parsed
+    private static final int YEAR = 1;
+    private static final int YEAR_OF_ERA = 2;
+    private static final int MONTH = 4;
+    private static final int DAY = 8;
+    private static final int HOUR = 16;
+    private static final int MINUTE = 32;
+    private static final int SECOND = 64;
+    private static final int NANO = 128;
+    private static final int OFFSET = 256;
+    private static final int EPOCH_SECOND = 512;
+
+    private static final int TIME_VALUES = HOUR | MINUTE | SECOND | NANO;
+
+    /**
+     * Result of a parse step indicating that the text did not match.
+     * Within an optional section this causes the section to be skipped.
+     */
+    private static final int MISMATCH = -1;
+    /**
+     * Result of a parse step indicating that the text must be parsed by the general parse.
+     */
+    private static final int UNSUPPORTED = -2;
+
+    /**
+     * The elements to parse.
+     */
+    private final Element[] elements;
+    /**
+     * Whether the resolver style is strict.
+     */
+    private final boolean strictResolve;
+
+    /**
+     * Compiles the printer-parser if possible.
+     *
+     * @param printerParser  the printer-parser to compile, not null
+     * @param decimalStyle  the decimal style of the formatter, not null
+     * @param resolverStyle  the resolver style of the formatter, not null
+     * @param resolverFields  the resolver fields of the formatter, null for all fields
+     * @param chrono  the override chronology of the formatter, null if none
+     * @param zone  the override zone of the formatter, null if none
+     * @return the compiled parser, null if the formatter cannot be compiled
+     */
+    static CompiledParser compile(CompositePrinterParser printerParser, DecimalStyle decimalStyle, ResolverStyle resolverStyle,
+            Set<TemporalField> resolverFields, Chronology chrono, ZoneId zone) {
+        if (zone != null || resolverFields != null || (chrono != null && chrono != IsoChronology.INSTANCE) ||
+                decimalStyle.equals(DecimalStyle.STANDARD) == false) {
+            return null;
+        }
+        List<Element> elements = new ArrayList<Element>();
+        boolean[] caseSensitive = new boolean[] {true};
+        if (flatten(printerParser, false, caseSensitive, elements) == false) {
+            return null;
+        }
+        return new CompiledParser(elements.toArray(new Element[elements.size()]), resolverStyle == ResolverStyle.STRICT);
+    }
+
+    /**
+     * Flattens the printer-parser into the list of elements.
+     * <p>
+     * An optional section is added as a marker element holding the index of the end of the section.
+     *
+     * @param pp  the printer-parser, not null
+     * @param inOptional  whether the printer-parser is within an optional section
+     * @param caseSensitive  the single element array holding the case sensitivity, updated by settings
+     * @param elements  the list to add to, not null
+     * @return true if the printer-parser could be compiled
+     */
+    private static boolean flatten(DateTimePrinterParser pp, boolean inOptional, boolean[] caseSensitive, List<Element> elements) {
+        if (pp instanceof CompositePrinterParser) {
+            CompositePrinterParser cpp = (CompositePrinterParser) pp;
+            int markerIndex = elements.size();
+            if (cpp.optional) {
+                elements.add(null);
+            }
+            for (DateTimePrinterParser child : cpp.printerParsers) {
+                if (flatten(child, inOptional || cpp.optional, caseSensitive, elements) == false) {
+                    return false;
+                }
+            }
+            if (cpp.optional) {
+                elements.set(markerIndex, new Element(OPTIONAL, 0, true, ' ', null, elements.size(), 0, null));
+            }
+            return true;
+        }
+        if (pp instanceof SettingsParser) {
+            // settings in an optional section only apply if the section parses up to that point
+            if (inOptional) {
+                return false;
+            }
+            if (pp == SettingsParser.SENSITIVE) {
+                caseSensitive[0] = true;
+            } else if (pp == SettingsParser.INSENSITIVE) {
+                caseSensitive[0] = false;
+            } else if (pp == SettingsParser.LENIENT) {
+                return false;
+            }
+            return true;
+        }
+        Element element = compileElement(pp, caseSensitive[0]);
+        if (element == null) {
+            return false;
+        }
+        elements.add(element);
+        return true;
+    }
+
+    /**
+     * Compiles a single printer-parser.
+     *
+     * @param pp  the printer-parser, not null
+     * @param caseSensitive  whether parsing is case sensitive
+     * @return the element, null if it cannot be compiled
+     */
+    private static Element compileElement(DateTimePrinterParser pp, boolean caseSensitive) {
+        if (pp instanceof CharLiteralPrinterParser) {
+            return new Element(CHAR_LITERAL, 0, caseSensitive, ((CharLiteralPrinterParser) pp).literal, null, 0, 0, null);
+        }
+        if (pp instanceof StringLiteralPrinterParser) {
+            return new Element(STRING_LITERAL, 0, caseSensitive, ' ', ((StringLiteralPrinterParser) pp).literal, 0, 0, null);
+        }
+        if (pp.getClass() == NumberPrinterParser.class) {
+            NumberPrinterParser npp = (NumberPrinterParser) pp;
+            int value = valueOf(npp.field);
+            boolean fixedWidth = (npp.minWidth == npp.maxWidth);
+            if (value == 0 || npp.minWidth > 9 || npp.signStyle == SignStyle.ALWAYS ||
+                    (fixedWidth == false && npp.subsequentWidth > 0)) {
+                return null;
+            }
+            return new Element(NUMBER, value, caseSensitive, ' ', null, npp.minWidth, npp.maxWidth, npp.signStyle);
+        }
+        if (pp instanceof FractionPrinterParser) {
+            FractionPrinterParser fpp = (FractionPrinterParser) pp;
+            if (fpp.field != ChronoField.NANO_OF_SECOND) {
+                return null;
+            }
+            char decimalPoint = (fpp.decimalPoint ? '.' : 0);
+            return new Element(FRACTION, NANO, caseSensitive, decimalPoint, null, fpp.minWidth, fpp.maxWidth, null);
+        }
+        if (pp instanceof OffsetIdPrinterParser) {
+            OffsetIdPrinterParser opp = (OffsetIdPrinterParser) pp;
+            return new Element(OFFSET_ID, OFFSET, caseSensitive, ' ', opp.noOffsetText, opp.type, 0, null);
+        }
+        if (pp instanceof InstantPrinterParser) {
+            int fractionalDigits = ((InstantPrinterParser) pp).fractionalDigits;
+            if (fractionalDigits == 0) {
+                return null;  // general parse rejects a fraction of zero width
+            }
+            int minDigits = (fractionalDigits < 0 ? 0 : fractionalDigits);
+            int maxDigits = (fractionalDigits < 0 ? 9 : fractionalDigits);
+            return new Element(INSTANT, EPOCH_SECOND | NANO, caseSensitive, '.', null, minDigits, maxDigits, null);
+        }
+        return null;
+    }
+
+    private static int valueOf(Object field) {
+        if (field == ChronoField.YEAR) {
+            return YEAR;
+        } else if (field == ChronoField.YEAR_OF_ERA) {
+            return YEAR_OF_ERA;
+        } else if (field == ChronoField.MONTH_OF_YEAR) {
+            return MONTH;
+        } else if (field == ChronoField.DAY_OF_MONTH) {
+            return DAY;
+        } else if (field == ChronoField.HOUR_OF_DAY) {
+            return HOUR;
+        } else if (field == ChronoField.MINUTE_OF_HOUR) {
+            return MINUTE;
+        } else if (field == ChronoField.SECOND_OF_MINUTE) {
+            return SECOND;
+        } else if (field == ChronoField.NANO_OF_SECOND) {
+            return NANO;
+        }
+        return 0;
+    }
+
+    private CompiledParser(Element[] elements, boolean strictResolve) {
+        this.elements = elements;
+        this.strictResolve = strictResolve;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses the text to a local date.
+     *
+     * @param text  the text to parse, not null
+     * @param values  the values to parse into, reset by this method, not null
+     * @return the parsed date, null if the text must be parsed by the general parse
+     */
+    LocalDate parseLocalDate(CharSequence text, Values values) {
+        values = parse(text, values);
+        if (values == null || values.isTimeValid() == false || values.isOffsetValid() == false) {
+            return null;
+        }
+        return values.toLocalDate(strictResolve);
+    }
+
+    /**
+     * Parses the text to a local date-time.
+     *
+     * @param text  the text to parse, not null
+     * @param values  the values to parse into, reset by this method, not null
+     * @return the parsed date-time, null if the text must be parsed by the general parse
+     */
+    LocalDateTime parseLocalDateTime(CharSequence text, Values values) {
+        values = parse(text, values);
+        if (values == null || (values.parsed & HOUR) == 0 || values.isTimeValid() == false || values.isOffsetValid() == false) {
+            return null;
+        }
+        LocalDate date = values.toLocalDate(strictResolve);
+        if (date == null) {
+            return null;
+        }
+        return LocalDateTime.of(date, values.toLocalTime());
+    }
+
+    /**
+     * Parses the text to an instant.
+     *
+     * @param text  the text to parse, not null
+     * @param values  the values to parse into, reset by this method, not null
+     * @return the parsed instant, null if the text must be parsed by the general parse
+     */
+    Instant parseInstant(CharSequence text, Values values) {
+        values = parse(text, values);
+        if (values == null) {
+            return null;
+        }
+        if ((values.parsed & EPOCH_SECOND) != 0) {
+            if ((values.parsed & ~(EPOCH_SECOND | NANO)) != 0) {
+                return null;
+            }
+            return Instant.ofEpochSecond(values.epochSecond, values.nano);
+        }
+        if ((values.parsed & (HOUR | OFFSET)) != (HOUR | OFFSET) || values.isTimeValid() == false || values.isOffsetValid() == false) {
+            return null;
+        }
+        LocalDate date = values.toLocalDate(strictResolve);
+        if (date == null) {
+            return null;
+        }
+        LocalTime time = values.toLocalTime();
+        long epochSecond = date.toEpochDay() * 86400L + time.toSecondOfDay() - values.offsetSecs;
+        return Instant.ofEpochSecond(epochSecond, time.getNano());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses the whole text to primitive values.
+     *
+     * @param text  the text to parse, not null
+     * @param values  the values to parse into, not null
+     * @return the parsed values, null if the text must be parsed by the general parse
+     */
+    private Values parse(CharSequence text, Values values) {
+        values.reset();
+        int pos = parse(text, 0, elements.length, 0, values);
+        if (pos != text.length()) {
+            return null;
+        }
+        return values;
+    }
+
+    /**
+     * Parses a range of elements.
+     *
+     * @param text  the text to parse, not null
+     * @param from  the index of the first element, inclusive
+     * @param to  the index of the last element, exclusive
+     * @param position  the position to parse from
+     * @param values  the values to parse into, not null
+     * @return the new position, or {@code MISMATCH} or {@code UNSUPPORTED}
+     */
+    private int parse(CharSequence text, int from, int to, int position, Values values) {
+        int pos = position;
+        for (int i = from; i < to; i++) {
+            Element element = elements[i];
+            switch (element.kind) {
+                case OPTIONAL: {
+                    int parsed = values.parsed;
+                    int end = element.minWidth;
+                    int result = parse(text, i + 1, end, pos, values);
+                    if (result == UNSUPPORTED) {
+                        return UNSUPPORTED;
+                    }
+                    if (result == MISMATCH) {
+                        values.parsed = parsed;  // discard values parsed by the section
+                    } else {
+                        pos = result;
+                    }
+                    i = end - 1;
+                    break;
+                }
+                case CHAR_LITERAL:
+                    if (pos == text.length() || charEquals(element, element.literal, text.charAt(pos)) == false) {
+                        return MISMATCH;
+                    }
+                    pos++;
+                    break;
+                case STRING_LITERAL:
+                    pos = parseLiteral(element, element.text, text, pos);
+                    break;
+                case NUMBER:
+                    pos = parseNumber(element, text, pos, values);
+                    break;
+                case FRACTION:
+                    pos = parseFraction(element, text, pos, values);
+                    break;
+                case OFFSET_ID:
+                    pos = parseOffsetId(element, text, pos, values);
+                    break;
+                case INSTANT:
+                    pos = parseInstant(element, text, pos, values);
+                    break;
+            }
+            if (pos < 0) {
+                return pos;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Parses a literal, matching {@code StringLiteralPrinterParser}.
+     */
+    private static int parseLiteral(Element element, String literal, CharSequence text, int pos) {
+        if (pos + literal.length() > text.length()) {
+            return MISMATCH;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (charEquals(element, literal.charAt(i), text.charAt(pos + i)) == false) {
+                return MISMATCH;
+            }
+        }
+        return pos + literal.length();
+    }
+
+    /**
+     * Parses an unsigned number, matching {@code NumberPrinterParser} in strict mode.
+     */
+    private static int parseNumber(Element element, CharSequence text, int pos, Values values) {
+        int length = text.length();
+        int maxEndPos = Math.min(pos + Math.min(element.maxWidth, 10), length);
+        long value = 0;
+        int end = pos;
+        while (end < maxEndPos) {
+            char ch = text.charAt(end);
+            if (ch < '0' || ch > '9') {
+                break;
+            }
+            value = value * 10 + (ch - '0');
+            end++;
+        }
+        if (end == pos && pos < length && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+            return UNSUPPORTED;  // signs are left to the general parse
+        }
+        int parseLen = end - pos;
+        if (parseLen > 9) {
+            return UNSUPPORTED;  // large values are left to the general parse
+        }
+        if (parseLen < element.minWidth || (element.signStyle == SignStyle.EXCEEDS_PAD && parseLen > element.minWidth)) {
+            return MISMATCH;
+        }
+        return values.set(element.value, (int) value, end);
+    }
+
+    /**
+     * Parses a fraction of a second, matching {@code FractionPrinterParser} in strict mode.
+     */
+    private static int parseFraction(Element element, CharSequence text, int pos, Values values) {
+        int length = text.length();
+        if (pos == length) {
+            return (element.minWidth > 0 ? MISMATCH : pos);
+        }
+        if (element.literal != 0) {
+            if (text.charAt(pos) != element.literal) {
+                return (element.minWidth > 0 ? MISMATCH : pos);
+            }
+            pos++;
+        }
+        int maxEndPos = Math.min(pos + element.maxWidth, length);
+        int total = 0;
+        int end = pos;
+        while (end < maxEndPos) {
+            char ch = text.charAt(end);
+            if (ch < '0' || ch > '9') {
+                break;
+            }
+            total = total * 10 + (ch - '0');
+            end++;
+        }
+        int parseLen = end - pos;
+        if (parseLen < element.minWidth) {
+            return MISMATCH;
+        }
+        for (int i = parseLen; i < 9; i++) {
+            total *= 10;
+        }
+        return values.set(NANO, total, end);
+    }
+
+    /**
+     * Parses an offset ID, matching {@code OffsetIdPrinterParser}.
+     */
+    private static int parseOffsetId(Element element, CharSequence text, int pos, Values values) {
+        int length = text.length();
+        String noOffsetText = element.text;
+        int noOffsetLen = noOffsetText.length();
+        if (noOffsetLen == 0) {
+            if (pos == length) {
+                return values.setOffset(0, pos);
+            }
+        } else {
+            if (pos == length) {
+                return MISMATCH;
+            }
+            if (parseLiteral(element, noOffsetText, text, pos) >= 0) {
+                return values.setOffset(0, pos + noOffsetLen);
+            }
+        }
+        // parse normal plus/minus offset
+        int type = element.minWidth;
+        char sign = text.charAt(pos);
+        if (sign == '+' || sign == '-') {
+            int end = pos + 1;
+            int hours = parseTwoDigits(text, end, false);
+            if (hours >= 0) {
+                end += 2;
+                int minutes = 0;
+                int seconds = 0;
+                boolean valid = true;
+                if ((type + 3) / 2 >= 2) {
+                    int minutesPos = end + ((type % 2) == 0 ? 1 : 0);
+                    minutes = parseTwoDigits(text, minutesPos, (type % 2) == 0);
+                    if (minutes >= 0) {
+                        end = minutesPos + 2;
+                        if ((type + 3) / 2 >= 3) {
+                            int secondsPos = end + ((type % 2) == 0 ? 1 : 0);
+                            seconds = parseTwoDigits(text, secondsPos, (type % 2) == 0);
+                            if (seconds >= 0) {
+                                end = secondsPos + 2;
+                            } else {
+                                seconds = 0;
+                            }
+                        }
+                    } else if (type >= 3) {
+                        valid = false;  // minutes required
+                    } else {
+                        minutes = 0;
+                    }
+                }
+                if (valid) {
+                    int offsetSecs = hours * 3600 + minutes * 60 + seconds;
+                    return values.setOffset(sign == '-' ? -offsetSecs : offsetSecs, end);
+                }
+            }
+        }
+        // handle special case of empty no offset text
+        if (noOffsetLen == 0) {
+            return values.setOffset(0, pos);
+        }
+        return MISMATCH;
+    }
+
+    /**
+     * Parses a two digit number from zero to 59, optionally preceded by a colon.
+     *
+     * @return the value, negative if not present
+     */
+    private static int parseTwoDigits(CharSequence text, int pos, boolean colon) {
+        if (colon && (pos > text.length() || text.charAt(pos - 1) != ':')) {
+            return -1;
+        }
+        if (pos + 2 > text.length()) {
+            return -1;
+        }
+        char ch1 = text.charAt(pos);
+        char ch2 = text.charAt(pos + 1);
+        if (ch1 < '0' || ch1 > '9' || ch2 < '0' || ch2 > '9') {
+            return -1;
+        }
+        int value = (ch1 - '0') * 10 + (ch2 - '0');
+        return (value > 59 ? -1 : value);
+    }
+
+    /**
+     * Parses an instant in the years 0000 to 9999, matching {@code InstantPrinterParser}.
+     */
+    private static int parseInstant(Element element, CharSequence text, int pos, Values values) {
+        int length = text.length();
+        if (pos + 20 > length) {
+            return MISMATCH;
+        }
+        int year = parseDigits(text, pos, 4);
+        if (year < 0) {
+            return UNSUPPORTED;  // signed or long years are left to the general parse
+        }
+        if (pos + 4 < length && text.charAt(pos + 4) >= '0' && text.charAt(pos + 4) <= '9') {
+            return MISMATCH;  // more than four digits requires a sign
+        }
+        int month = parseDigits(text, pos + 5, 2);
+        int day = parseDigits(text, pos + 8, 2);
+        int hour = parseDigits(text, pos + 11, 2);
+        int minute = parseDigits(text, pos + 14, 2);
+        int second = parseDigits(text, pos + 17, 2);
+        if (text.charAt(pos + 4) != '-' || month < 0 || text.charAt(pos + 7) != '-' || day < 0 ||
+                charEquals(element, 'T', text.charAt(pos + 10)) == false || hour < 0 ||
+                text.charAt(pos + 13) != ':' || minute < 0 || text.charAt(pos + 16) != ':' || second < 0) {
+            return MISMATCH;
+        }
+        if ((values.parsed & (EPOCH_SECOND | NANO)) != 0) {
+            return UNSUPPORTED;
+        }
+        // the element holds the decimal point and widths of the fraction
+        int end = parseFraction(element, text, pos + 19, values);
+        int nano = ((values.parsed & NANO) != 0 ? values.nano : 0);
+        values.parsed &= ~NANO;
+        if (end < 0 || end == length || charEquals(element, 'Z', text.charAt(end)) == false) {
+            return MISMATCH;
+        }
+        // end of day, leap seconds and invalid dates are left to the general parse
+        if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year)) ||
+                hour > 23 || minute > 59 || second > 59) {
+            return UNSUPPORTED;
+        }
+        long epochDay = LocalDate.of(year, month, day).toEpochDay();
+        long epochSecond = epochDay * 86400L + hour * 3600 + minute * 60 + second;
+        return values.setInstant(epochSecond, nano, end + 1);
+    }
+
+    /**
+     * Parses a fixed number of digits.
+     *
+     * @return the value, negative if not all digits
+     */
+    private static int parseDigits(CharSequence text, int pos, int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    private static boolean charEquals(Element element, char ch1, char ch2) {
+        if (element.caseSensitive) {
+            return ch1 == ch2;
+        }
+        return DateTimeParseContext.charEqualsIgnoreCase(ch1, ch2);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A single compiled element.
+     */
+    private static final class Element {
+        /** The kind of element. */
+        final int kind;
+        /** The value parsed, as a bit from the set of values. */
+        final int value;
+        /** Whether the element is parsed case sensitively. */
+        final boolean caseSensitive;
+        /** The literal, or the decimal point of a fraction, zero if none. */
+        final char literal;
+        /** The literal text, or the text for a zero offset. */
+        final String text;
+        /** The minimum width, the offset type or the end of an optional section. */
+        final int minWidth;
+        /** The maximum width. */
+        final int maxWidth;
+        /** The sign style. */
+        final SignStyle signStyle;
+
+        Element(int kind, int value, boolean caseSensitive, char literal, String text, int minWidth, int maxWidth, SignStyle signStyle) {
+            this.kind = kind;
+            this.value = value;
+            this.caseSensitive = caseSensitive;
+            this.literal = literal;
+            this.text = text;
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+            this.signStyle = signStyle;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The values parsed from a single text.
+     * <p>
+     * This is mutable and may be reused for each parse on a single thread.
+     */
+    static final class Values {
+        /** The values that have been parsed, as a bit mask. */
+        int parsed;
+        int year;
+        int yearOfEra;
+        int month;
+        int day;
+        int hour;
+        int minute;
+        int second;
+        int nano;
+        int offsetSecs;
+        long epochSecond;
+
+        /**
+         * Resets the values so that they can be reused.
+         */
+        void reset() {
+            parsed = 0;
+            year = 0;
+            yearOfEra = 0;
+            month = 0;
+            day = 0;
+            hour = 0;
+            minute = 0;
+            second = 0;
+            nano = 0;
+            offsetSecs = 0;
+            epochSecond = 0;
+        }
+
+        /**
+         * Stores a parsed value.
+         *
+         * @return the position, or {@code UNSUPPORTED} if the value has already been parsed
+         */
+        int set(int field, int value, int pos) {
+            if ((parsed & field) != 0) {
+                return UNSUPPORTED;  // cross-checking is left to the general parse
+            }
+            parsed |= field;
+            switch (field) {
+                case YEAR: year = value; break;
+                case YEAR_OF_ERA: yearOfEra = value; break;
+                case MONTH: month = value; break;
+                case DAY: day = value; break;
+                case HOUR: hour = value; break;
+                case MINUTE: minute = value; break;
+                case SECOND: second = value; break;
+                default: nano = value; break;
+            }
+            return pos;
+        }
+
+        int setOffset(int offsetSecs, int pos) {
+            if ((parsed & OFFSET) != 0) {
+                return UNSUPPORTED;
+            }
+            parsed |= OFFSET;
+            this.offsetSecs = offsetSecs;
+            return pos;
+        }
+
+        int setInstant(long epochSecond, int nano, int pos) {
+            if ((parsed & (EPOCH_SECOND | NANO)) != 0) {
+                return UNSUPPORTED;
+            }
+            parsed |= EPOCH_SECOND | NANO;
+            this.epochSecond = epochSecond;
+            this.nano = nano;
+            return pos;
+        }
+
+        /**
+         * Checks that the time values, if any, form a valid time.
+         */
+        boolean isTimeValid() {
+            int time = parsed & TIME_VALUES;
+            if (time == 0) {
+                return (parsed & EPOCH_SECOND) == 0;
+            }
+            if (time != (HOUR | MINUTE) && time != (HOUR | MINUTE | SECOND) && time != TIME_VALUES) {
+                return false;
+            }
+            return hour <= 23 && minute <= 59 && ((parsed & SECOND) == 0 || second <= 59);
+        }
+
+        /**
+         * Checks that the offset, if any, is valid.
+         */
+        boolean isOffsetValid() {
+            return (parsed & OFFSET) == 0 || (offsetSecs >= -18 * 3600 && offsetSecs <= 18 * 3600);
+        }
+
+        /**
+         * Gets the date, null if the date values are not valid.
+         */
+        LocalDate toLocalDate(boolean strictResolve) {
+            int date = parsed & (YEAR | YEAR_OF_ERA | MONTH | DAY);
+            int resolvedYear;
+            if (date == (YEAR | MONTH | DAY)) {
+                resolvedYear = year;
+            } else if (date == (YEAR_OF_ERA | MONTH | DAY) && strictResolve == false && yearOfEra >= 1) {
+                resolvedYear = yearOfEra;
+            } else {
+                return null;
+            }
+            if (month < 1 || month > 12 || day < 1 ||
+                    day > Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(resolvedYear))) {
+                return null;
+            }
+            return LocalDate.of(resolvedYear, month, day);
+        }
+
+        /**
+         * Gets the time, only valid if {@link #isTimeValid()} returned true.
+         * <p>
+         * Values from an optional section that did not match may remain, so
+         * only the values that were parsed are used.
+         */
+        LocalTime toLocalTime() {
+            int sec = ((parsed & SECOND) != 0 ? second : 0);
+            int nos = ((parsed & NANO) != 0 ? nano : 0);
+            return LocalTime.of(hour, minute, sec, nos);
+        }
+    }
+
+}
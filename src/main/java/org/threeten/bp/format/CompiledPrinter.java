@@ -0,0 +1,589 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.threeten.bp.format.DateTimeFormatterBuilder.InstantPrinterParser.SECONDS_0000_TO_1970;
+import static org.threeten.bp.format.DateTimeFormatterBuilder.InstantPrinterParser.SECONDS_PER_10000_YEARS;
+import static org.threeten.bp.format.DateTimeFormatterBuilder.NumberPrinterParser.EXCEED_POINTS;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.chrono.Chronology;
+import org.threeten.bp.chrono.IsoChronology;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CharLiteralPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompositePrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.DateTimePrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.DefaultingParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.FractionPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.InstantPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.NumberPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.OffsetIdPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.SettingsParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.StringLiteralPrinterParser;
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalAccessor;
+
+/**
+ * Printer compiled from a chain of simple printer-parsers.
+ * <p>
+ * Most formatters in common use, including the ISO formatters, consist only of
+ * numeric fields, literals, fractions, offsets and instants. When such a formatter
+ * prints one of the ISO date-time classes, the values can be read directly from the
+ * object and the digits written straight to the buffer. This avoids creating the
+ * print context, boxing each value and calling through each printer-parser.
+ * <p>
+ * The output is identical to that of the printer-parsers.
+ * If the temporal, or one of its values, is outside what this class handles,
+ * {@link #print} returns false without changing the buffer and the caller must
+ * fall back to the printer-parsers.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ */
+final class CompiledPrinter {
+
+    // the kinds of element
+    private static final int CHAR_LITERAL = 0;
+    private static final int STRING_LITERAL = 1;
+    private static final int NUMBER = 2;
+    private static final int FRACTION = 3;
+    private static final int OFFSET_ID = 4;
+    private static final int INSTANT = 5;
+    private static final int OPTIONAL = 6;
+
+    // the values that can be printed, also used as bits for what is required
+    private static final int YEAR = 1;
+    private static final int YEAR_OF_ERA = 2;
+    private static final int MONTH = 4;
+    private static final int DAY = 8;
+    private static final int HOUR = 16;
+    private static final int MINUTE = 32;
+    private static final int SECOND = 64;
+    private static final int NANO = 128;
+    private static final int OFFSET = 256;
+    private static final int EPOCH_SECOND = 512;
+
+    private static final int DATE_VALUES = YEAR | YEAR_OF_ERA | MONTH | DAY;
+    private static final int TIME_VALUES = HOUR | MINUTE | SECOND | NANO;
+    private static final int DAYS_0000_TO_1970 = (146097 * 5) - (30 * 365 + 7);
+
+    /**
+     * The elements to print.
+     */
+    private final Element[] elements;
+    /**
+     * The values that must be available, as a bit mask.
+     */
+    private final int required;
+
+    /**
+     * Compiles the printer-parser if possible.
+     *
+     * @param printerParser  the printer-parser to compile, not null
+     * @param decimalStyle  the decimal style of the formatter, not null
+     * @param chrono  the override chronology of the formatter, null if none
+     * @param zone  the override zone of the formatter, null if none
+     * @return the compiled printer, null if the formatter cannot be compiled
+     */
+    static CompiledPrinter compile(CompositePrinterParser printerParser, DecimalStyle decimalStyle, Chronology chrono, ZoneId zone) {
+        if (zone != null || (chrono != null && chrono != IsoChronology.INSTANCE) || decimalStyle.equals(DecimalStyle.STANDARD) == false) {
+            return null;
+        }
+        List<Element> elements = new ArrayList<Element>();
+        int required = flatten(printerParser, elements);
+        if (required < 0) {
+            return null;
+        }
+        return new CompiledPrinter(elements.toArray(new Element[elements.size()]), required);
+    }
+
+    /**
+     * Flattens the printer-parser into the list of elements.
+     * <p>
+     * An optional section is added as a marker element holding the values the
+     * section requires and the index of the end of the section.
+     * The section is skipped when printing if any of those values is unavailable.
+     *
+     * @param pp  the printer-parser, not null
+     * @param elements  the list to add to, not null
+     * @return the values required outside of nested optional sections, negative if it cannot be compiled
+     */
+    private static int flatten(DateTimePrinterParser pp, List<Element> elements) {
+        if (pp instanceof CompositePrinterParser) {
+            CompositePrinterParser cpp = (CompositePrinterParser) pp;
+            int markerIndex = elements.size();
+            if (cpp.optional) {
+                elements.add(null);
+            }
+            int required = 0;
+            for (DateTimePrinterParser child : cpp.printerParsers) {
+                int childRequired = flatten(child, elements);
+                if (childRequired < 0) {
+                    return -1;
+                }
+                required |= childRequired;
+            }
+            if (cpp.optional) {
+                elements.set(markerIndex, new Element(OPTIONAL, required, ' ', null, elements.size(), 0, null));
+                return 0;
+            }
+            return required;
+        }
+        if (pp instanceof SettingsParser || pp instanceof DefaultingParser) {
+            return 0;  // no effect on printing
+        }
+        Element element = compileElement(pp);
+        if (element == null) {
+            return -1;
+        }
+        elements.add(element);
+        return element.value;
+    }
+
+    /**
+     * Compiles a single printer-parser.
+     *
+     * @param pp  the printer-parser, not null
+     * @return the element, null if it cannot be compiled
+     */
+    private static Element compileElement(DateTimePrinterParser pp) {
+        if (pp instanceof CharLiteralPrinterParser) {
+            return new Element(CHAR_LITERAL, 0, ((CharLiteralPrinterParser) pp).literal, null, 0, 0, null);
+        }
+        if (pp instanceof StringLiteralPrinterParser) {
+            return new Element(STRING_LITERAL, 0, ' ', ((StringLiteralPrinterParser) pp).literal, 0, 0, null);
+        }
+        if (pp.getClass() == NumberPrinterParser.class) {
+            NumberPrinterParser npp = (NumberPrinterParser) pp;
+            int value = valueOf(npp.field);
+            if (value == 0 || npp.minWidth > 9) {
+                return null;
+            }
+            return new Element(NUMBER, value, ' ', null, npp.minWidth, npp.maxWidth, npp.signStyle);
+        }
+        if (pp instanceof FractionPrinterParser) {
+            FractionPrinterParser fpp = (FractionPrinterParser) pp;
+            if (fpp.field != ChronoField.NANO_OF_SECOND) {
+                return null;
+            }
+            char decimalPoint = (fpp.decimalPoint ? '.' : 0);
+            return new Element(FRACTION, NANO, decimalPoint, null, fpp.minWidth, fpp.maxWidth, null);
+        }
+        if (pp instanceof OffsetIdPrinterParser) {
+            OffsetIdPrinterParser opp = (OffsetIdPrinterParser) pp;
+            return new Element(OFFSET_ID, OFFSET, ' ', opp.noOffsetText, opp.type, 0, null);
+        }
+        if (pp instanceof InstantPrinterParser) {
+            int fractionalDigits = ((InstantPrinterParser) pp).fractionalDigits;
+            return new Element(INSTANT, EPOCH_SECOND | NANO, ' ', null, fractionalDigits, 0, null);
+        }
+        return null;
+    }
+
+    private static int valueOf(Object field) {
+        if (field == ChronoField.YEAR) {
+            return YEAR;
+        } else if (field == ChronoField.YEAR_OF_ERA) {
+            return YEAR_OF_ERA;
+        } else if (field == ChronoField.MONTH_OF_YEAR) {
+            return MONTH;
+        } else if (field == ChronoField.DAY_OF_MONTH) {
+            return DAY;
+        } else if (field == ChronoField.HOUR_OF_DAY) {
+            return HOUR;
+        } else if (field == ChronoField.MINUTE_OF_HOUR) {
+            return MINUTE;
+        } else if (field == ChronoField.SECOND_OF_MINUTE) {
+            return SECOND;
+        } else if (field == ChronoField.NANO_OF_SECOND) {
+            return NANO;
+        }
+        return 0;
+    }
+
+    private CompiledPrinter(Element[] elements, int required) {
+        this.elements = elements;
+        this.required = required;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Prints the temporal to the buffer.
+     *
+     * @param temporal  the temporal to print, not null
+     * @param buf  the buffer to append to, not null
+     * @return true if printed, false if the temporal must be printed by the printer-parsers
+     */
+    boolean print(TemporalAccessor temporal, StringBuilder buf) {
+        LocalDate date = null;
+        LocalTime time = null;
+        int offsetSecs = 0;
+        long epochSecond = 0;
+        int nano = 0;
+        int available;
+        if (temporal instanceof LocalDateTime) {
+            LocalDateTime ldt = (LocalDateTime) temporal;
+            date = ldt.toLocalDate();
+            time = ldt.toLocalTime();
+            available = DATE_VALUES | TIME_VALUES;
+        } else if (temporal instanceof OffsetDateTime) {
+            OffsetDateTime odt = (OffsetDateTime) temporal;
+            LocalDateTime ldt = odt.toLocalDateTime();
+            date = ldt.toLocalDate();
+            time = ldt.toLocalTime();
+            offsetSecs = odt.getOffset().getTotalSeconds();
+            epochSecond = odt.toEpochSecond();
+            available = DATE_VALUES | TIME_VALUES | OFFSET | EPOCH_SECOND;
+        } else if (temporal instanceof ZonedDateTime) {
+            ZonedDateTime zdt = (ZonedDateTime) temporal;
+            LocalDateTime ldt = zdt.toLocalDateTime();
+            date = ldt.toLocalDate();
+            time = ldt.toLocalTime();
+            offsetSecs = zdt.getOffset().getTotalSeconds();
+            epochSecond = zdt.toEpochSecond();
+            available = DATE_VALUES | TIME_VALUES | OFFSET | EPOCH_SECOND;
+        } else if (temporal instanceof Instant) {
+            Instant instant = (Instant) temporal;
+            epochSecond = instant.getEpochSecond();
+            nano = instant.getNano();
+            available = NANO | EPOCH_SECOND;
+        } else if (temporal instanceof LocalDate) {
+            date = (LocalDate) temporal;
+            available = DATE_VALUES;
+        } else if (temporal instanceof LocalTime) {
+            time = (LocalTime) temporal;
+            available = TIME_VALUES;
+        } else {
+            return false;
+        }
+        if ((required & ~available) != 0) {
+            return false;
+        }
+        if (time != null) {
+            nano = time.getNano();
+        }
+        int start = buf.length();
+        for (int i = 0; i < elements.length; i++) {
+            Element element = elements[i];
+            switch (element.kind) {
+                case OPTIONAL:
+                    if ((element.value & ~available) != 0) {
+                        i = element.minWidth - 1;  // skip section
+                    }
+                    break;
+                case CHAR_LITERAL:
+                    buf.append(element.literal);
+                    break;
+                case STRING_LITERAL:
+                    buf.append(element.text);
+                    break;
+                case NUMBER: {
+                    int value;
+                    switch (element.value) {
+                        case YEAR: value = date.getYear(); break;
+                        case YEAR_OF_ERA: value = (date.getYear() >= 1 ? date.getYear() : 1 - date.getYear()); break;
+                        case MONTH: value = date.getMonthValue(); break;
+                        case DAY: value = date.getDayOfMonth(); break;
+                        case HOUR: value = time.getHour(); break;
+                        case MINUTE: value = time.getMinute(); break;
+                        case SECOND: value = time.getSecond(); break;
+                        default: value = nano; break;
+                    }
+                    if (printNumber(element, value, buf) == false) {
+                        buf.setLength(start);
+                        return false;
+                    }
+                    break;
+                }
+                case FRACTION:
+                    printFraction(element, nano, buf);
+                    break;
+                case OFFSET_ID:
+                    printOffsetId(element, offsetSecs, buf);
+                    break;
+                case INSTANT:
+                    // instants are only handled in the years 0000 to 9999
+                    if (epochSecond < -SECONDS_0000_TO_1970 || epochSecond >= SECONDS_PER_10000_YEARS - SECONDS_0000_TO_1970) {
+                        buf.setLength(start);
+                        return false;
+                    }
+                    printInstant(element, epochSecond, nano, buf);
+                    break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints a number, matching {@code NumberPrinterParser}.
+     *
+     * @return false if the value cannot be printed, leaving the printer-parser to report the error
+     */
+    private static boolean printNumber(Element element, int value, StringBuilder buf) {
+        int absValue = Math.abs(value);
+        int digits = digits(absValue);
+        if (digits > element.maxWidth) {
+            return false;
+        }
+        if (value >= 0) {
+            switch (element.signStyle) {
+                case EXCEEDS_PAD:
+                    if (absValue >= EXCEED_POINTS[element.minWidth]) {
+                        buf.append('+');
+                    }
+                    break;
+                case ALWAYS:
+                    buf.append('+');
+                    break;
+            }
+        } else {
+            switch (element.signStyle) {
+                case NORMAL:
+                case EXCEEDS_PAD:
+                case ALWAYS:
+                    buf.append('-');
+                    break;
+                case NOT_NEGATIVE:
+                    return false;
+            }
+        }
+        for (int i = digits; i < element.minWidth; i++) {
+            buf.append('0');
+        }
+        appendDigits(absValue, digits, buf);
+        return true;
+    }
+
+    /**
+     * Prints a fraction of a second, matching {@code FractionPrinterParser}.
+     */
+    private static void printFraction(Element element, int nano, StringBuilder buf) {
+        if (nano == 0) {
+            if (element.minWidth > 0) {
+                if (element.literal != 0) {
+                    buf.append(element.literal);
+                }
+                for (int i = 0; i < element.minWidth; i++) {
+                    buf.append('0');
+                }
+            }
+        } else {
+            int scale = 9;
+            for (int n = nano; n % 10 == 0; n /= 10) {
+                scale--;
+            }
+            int outputScale = Math.min(Math.max(scale, element.minWidth), element.maxWidth);
+            if (element.literal != 0) {
+                buf.append(element.literal);
+            }
+            appendDigits(nano / POWERS_OF_TEN[9 - outputScale], outputScale, buf);
+        }
+    }
+
+    /**
+     * Prints an offset ID, matching {@code OffsetIdPrinterParser}.
+     */
+    private static void printOffsetId(Element element, int totalSecs, StringBuilder buf) {
+        int type = element.minWidth;
+        if (totalSecs == 0) {
+            buf.append(element.text);
+        } else {
+            int absHours = Math.abs((totalSecs / 3600) % 100);  // anything larger than 99 silently dropped
+            int absMinutes = Math.abs((totalSecs / 60) % 60);
+            int absSeconds = Math.abs(totalSecs % 60);
+            int bufPos = buf.length();
+            int output = absHours;
+            buf.append(totalSecs < 0 ? '-' : '+');
+            appendDigits(absHours, 2, buf);
+            if (type >= 3 || (type >= 1 && absMinutes > 0)) {
+                if ((type % 2) == 0) {
+                    buf.append(':');
+                }
+                appendDigits(absMinutes, 2, buf);
+                output += absMinutes;
+                if (type >= 7 || (type >= 5 && absSeconds > 0)) {
+                    if ((type % 2) == 0) {
+                        buf.append(':');
+                    }
+                    appendDigits(absSeconds, 2, buf);
+                    output += absSeconds;
+                }
+            }
+            if (output == 0) {
+                buf.setLength(bufPos);
+                buf.append(element.text);
+            }
+        }
+    }
+
+    /**
+     * Prints an instant in the years 0000 to 9999, matching {@code InstantPrinterParser}.
+     */
+    private static void printInstant(Element element, long epochSecond, int nano, StringBuilder buf) {
+        long epochDay = Jdk8Methods.floorDiv(epochSecond, 86400);
+        int secondOfDay = Jdk8Methods.floorMod(epochSecond, 86400);
+        int yearMonthDay = yearMonthDay(epochDay);
+        appendDigits(yearMonthDay / 10000, 4, buf);
+        buf.append('-');
+        appendDigits((yearMonthDay / 100) % 100, 2, buf);
+        buf.append('-');
+        appendDigits(yearMonthDay % 100, 2, buf);
+        buf.append('T');
+        appendDigits(secondOfDay / 3600, 2, buf);
+        buf.append(':');
+        appendDigits((secondOfDay / 60) % 60, 2, buf);
+        buf.append(':');
+        appendDigits(secondOfDay % 60, 2, buf);
+        int fractionalDigits = element.minWidth;
+        if (fractionalDigits == -2) {
+            if (nano != 0) {
+                buf.append('.');
+                if (nano % 1000000 == 0) {
+                    appendDigits(nano / 1000000, 3, buf);
+                } else if (nano % 1000 == 0) {
+                    appendDigits(nano / 1000, 6, buf);
+                } else {
+                    appendDigits(nano, 9, buf);
+                }
+            }
+        } else if (fractionalDigits > 0 || (fractionalDigits == -1 && nano > 0)) {
+            buf.append('.');
+            int div = 100000000;
+            for (int i = 0; ((fractionalDigits == -1 && nano > 0) || i < fractionalDigits); i++) {
+                int digit = nano / div;
+                buf.append((char) (digit + '0'));
+                nano = nano - (digit * div);
+                div = div / 10;
+            }
+        }
+        buf.append('Z');
+    }
+
+    //-----------------------------------------------------------------------
+    private static final int[] POWERS_OF_TEN = new int[] {
+        1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000,
+    };
+
+    /**
+     * Gets the number of decimal digits in a non-negative value.
+     */
+    private static int digits(int value) {
+        int digits = 1;
+        while (digits < 10 && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Appends the low order digits of a non-negative value, zero padded to the count.
+     */
+    private static void appendDigits(int value, int count, StringBuilder buf) {
+        for (int i = count - 1; i >= 0; i--) {
+            buf.append((char) ('0' + (value / POWERS_OF_TEN[i]) % 10));
+        }
+    }
+
+    /**
+     * Converts an epoch-day to year, month and day packed as {@code yyyymmdd}.
+     * <p>
+     * This is the same algorithm as {@link LocalDate#ofEpochDay(long)},
+     * restricted to years that fit the packed form.
+     */
+    private static int yearMonthDay(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
+        long adjust = 0;
+        if (zeroDay < 0) {
+            // adjust negative years to positive for calculation
+            long adjustCycles = (zeroDay + 1) / 146097 - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * 146097;
+        }
+        long yearEst = (400 * zeroDay + 591) / 146097;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            // fix estimate
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;  // reset any negative year
+        int marchDoy0 = (int) doyEst;
+        // convert march-based values back to january-based
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return (int) yearEst * 10000 + month * 100 + dom;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A single compiled element.
+     */
+    private static final class Element {
+        /** The kind of element. */
+        final int kind;
+        /** The value printed as a bit, or the values required by an optional section. */
+        final int value;
+        /** The literal, or the decimal point of a fraction, zero if none. */
+        final char literal;
+        /** The literal text, or the text for a zero offset. */
+        final String text;
+        /** The minimum width, the offset type, the instant fractional digits or the end of an optional section. */
+        final int minWidth;
+        /** The maximum width. */
+        final int maxWidth;
+        /** The sign style. */
+        final SignStyle signStyle;
+
+        Element(int kind, int value, char literal, String text, int minWidth, int maxWidth, SignStyle signStyle) {
+            this.kind = kind;
+            this.value = value;
+            this.literal = literal;
+            this.text = text;
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+            this.signStyle = signStyle;
+        }
+    }
+
+}
@@ -50,7 +50,6 @@ import static org.threeten.bp.temporal.ChronoField.OFFSET_SECONDS;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_DAY;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -99,7 +98,7 @@ final class DateTimeBuilder
     /**
      * The map of other fields.
      */
-    final Map<TemporalField, Long> fieldValues = new HashMap<TemporalField, Long>();
+    final FieldValueMap fieldValues = new FieldValueMap();
     /**
      * The chronology.
      */
@@ -144,6 +143,19 @@ final class DateTimeBuilder
         addFieldValue(field, value);
     }
 
+    /**
+     * Clears the builder so that it can be reused.
+     */
+    void clear() {
+        fieldValues.clear();
+        chrono = null;
+        zone = null;
+        date = null;
+        time = null;
+        leapSecond = false;
+        excessDays = null;
+    }
+
     //-----------------------------------------------------------------------
     private Long getFieldValue0(TemporalField field) {
         return fieldValues.get(field);
@@ -165,15 +177,17 @@ final class DateTimeBuilder
      */
     DateTimeBuilder addFieldValue(TemporalField field, long value) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long old = getFieldValue0(field);  // check first for better error message
-        if (old != null && old.longValue() != value) {
-            throw new DateTimeException("Conflict found: " + field + " " + old + " differs from " + field + " " + value + ": " + this);
+        if (fieldValues.containsKey(field)) {
+            long old = fieldValues.getValue(field);  // check first for better error message
+            if (old != value) {
+                throw new DateTimeException("Conflict found: " + field + " " + old + " differs from " + field + " " + value + ": " + this);
+            }
         }
         return putFieldValue0(field, value);
     }
 
     private DateTimeBuilder putFieldValue0(TemporalField field, long value) {
-        fieldValues.put(field, value);
+        fieldValues.putValue(field, value);
         return this;
     }
 
@@ -35,6 +35,7 @@ import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_WEEK;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_YEAR;
 import static org.threeten.bp.temporal.ChronoField.HOUR_OF_DAY;
+import static org.threeten.bp.temporal.ChronoField.INSTANT_SECONDS;
 import static org.threeten.bp.temporal.ChronoField.MINUTE_OF_HOUR;
 import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
 import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
@@ -42,22 +43,33 @@ import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 import static org.threeten.bp.temporal.ChronoField.YEAR;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
 import org.threeten.bp.Period;
 import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
 import org.threeten.bp.chrono.Chronology;
 import org.threeten.bp.chrono.IsoChronology;
 import org.threeten.bp.format.DateTimeFormatterBuilder.CompositePrinterParser;
@@ -67,6 +79,7 @@ import org.threeten.bp.temporal.ChronoField;
 import org.threeten.bp.temporal.IsoFields;
 import org.threeten.bp.temporal.TemporalAccessor;
 import org.threeten.bp.temporal.TemporalField;
+import org.threeten.bp.temporal.TemporalQueries;
 import org.threeten.bp.temporal.TemporalQuery;
 
 /**
@@ -757,6 +770,12 @@ public final class DateTimeFormatter {
      * Any non-letter character, other than '[', ']', '{', '}' and the single quote will be output directly.
      * Despite this, it is recommended to use single quotes around all characters that you want to
      * output directly to ensure that future changes do not break your application.
+     * <p>
+     * Formatters created from patterns can be cached, which avoids parsing the same
+     * pattern repeatedly. The cache is enabled by setting the system property
+     * {@code org.threeten.bp.format.DateTimeFormatter.patternCacheSize} to the maximum
+     * number of formatters to cache before this class is initialized. When enabled,
+     * repeated calls with the same pattern and locale return the same instance.
      *
      * @param pattern  the pattern to use, not null
      * @return the formatter based on the pattern, not null
@@ -764,6 +783,9 @@ public final class DateTimeFormatter {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter ofPattern(String pattern) {
+        if (PATTERN_CACHE != null) {
+            return PATTERN_CACHE.get(pattern, Locale.getDefault());
+        }
         return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter();
     }
 
@@ -785,9 +807,40 @@ public final class DateTimeFormatter {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter ofPattern(String pattern, Locale locale) {
+        if (PATTERN_CACHE != null) {
+            return PATTERN_CACHE.get(pattern, locale);
+        }
         return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
     }
 
+    /**
+     * The cache of formatters created from patterns, null if not enabled.
+     */
+    private static final PatternCache PATTERN_CACHE = PatternCache.fromSystemProperty();
+
+    /**
+     * Gets the number of calls to {@code ofPattern} that returned a cached formatter.
+     * <p>
+     * See {@link #ofPattern(String)} for how to enable the cache.
+     *
+     * @return the number of cache hits, zero if the cache is not enabled
+     */
+    public static long getPatternCacheHitCount() {
+        return (PATTERN_CACHE != null ? PATTERN_CACHE.getHitCount() : 0);
+    }
+
+    /**
+     * Gets the number of calls to {@code ofPattern} that created a formatter.
+     * <p>
+     * Calls are only counted if the cache is enabled.
+     * See {@link #ofPattern(String)} for how to enable the cache.
+     *
+     * @return the number of cache misses, zero if the cache is not enabled
+     */
+    public static long getPatternCacheMissCount() {
+        return (PATTERN_CACHE != null ? PATTERN_CACHE.getMissCount() : 0);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns a locale specific date format.
@@ -1013,6 +1066,14 @@ public final class DateTimeFormatter {
      * The zone to use for formatting, null for no override.
      */
     private final ZoneId zone;
+    /**
+     * The compiled printer, null if the printer/parser cannot be compiled.
+     */
+    private final CompiledPrinter compiledPrinter;
+    /**
+     * The compiled parser, null if the printer/parser cannot be compiled.
+     */
+    private final CompiledParser compiledParser;
 
     //-----------------------------------------------------------------------
     /**
@@ -1036,6 +1097,8 @@ public final class DateTimeFormatter {
         this.resolverFields = resolverFields;
         this.chrono = chrono;
         this.zone = zone;
+        this.compiledPrinter = CompiledPrinter.compile(printerParser, decimalStyle, chrono, zone);
+        this.compiledParser = CompiledParser.compile(printerParser, decimalStyle, resolverStyle, resolverFields, chrono, zone);
     }
 
     //-----------------------------------------------------------------------
@@ -1360,6 +1423,46 @@ public final class DateTimeFormatter {
         return buf.toString();
     }
 
+    /**
+     * Formats each date-time object using this formatter,
+     * splitting the work across the specified executor.
+     * <p>
+     * This formats each temporal as per {@link #format(TemporalAccessor)},
+     * storing the result at the same index in the returned array.
+     * The temporals are split into contiguous chunks which are formatted in parallel,
+     * with each chunk reusing its own buffer.
+     * The calling thread also formats chunks, then blocks until the chunks in progress
+     * in other threads are complete. Chunks are never left queued behind the caller,
+     * thus this may be called from a thread of the same executor.
+     * If the executor rejects a chunk, the remaining chunks are formatted in the calling thread.
+     * Small inputs are formatted entirely in the calling thread.
+     * <p>
+     * If any temporal cannot be formatted, the exception for the lowest such index is thrown,
+     * once all chunks have completed. This makes the error independent of the scheduling.
+     *
+     * @param temporals  the temporal objects to format, not null, not containing null
+     * @param executor  the executor to format the chunks with, not null
+     * @return the formatted strings, not null
+     * @throws DateTimeException if an error occurs during formatting
+     */
+    public String[] format(final TemporalAccessor[] temporals, Executor executor) {
+        Jdk8Methods.requireNonNull(temporals, "temporals");
+        Jdk8Methods.requireNonNull(executor, "executor");
+        final String[] result = new String[temporals.length];
+        new ChunkedExecution() {
+            @Override
+            void process(int chunk, int from, int to) {
+                StringBuilder buf = new StringBuilder(32);
+                for (int i = from; i < to; i++) {
+                    buf.setLength(0);
+                    formatTo(temporals[i], buf);
+                    result[i] = buf.toString();
+                }
+            }
+        }.execute(executor, temporals.length, ChunkedExecution.chunkCount(temporals.length));
+        return result;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Formats a date-time object to an {@code Appendable} using this formatter.
@@ -1380,13 +1483,17 @@ public final class DateTimeFormatter {
         Jdk8Methods.requireNonNull(temporal, "temporal");
         Jdk8Methods.requireNonNull(appendable, "appendable");
         try {
-            DateTimePrintContext context = new DateTimePrintContext(temporal, this);
             if (appendable instanceof StringBuilder) {
-                printerParser.print(context, (StringBuilder) appendable);
+                StringBuilder buf = (StringBuilder) appendable;
+                if (compiledPrinter == null || compiledPrinter.print(temporal, buf) == false) {
+                    printerParser.print(new DateTimePrintContext(temporal, this), buf);
+                }
             } else {
                 // buffer output to avoid writing to appendable in case of error
                 StringBuilder buf = new StringBuilder(32);
-                printerParser.print(context, buf);
+                if (compiledPrinter == null || compiledPrinter.print(temporal, buf) == false) {
+                    printerParser.print(new DateTimePrintContext(temporal, this), buf);
+                }
                 appendable.append(buf);
             }
         } catch (IOException ex) {
@@ -1394,6 +1501,86 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Formats a date-time object to a byte array as US-ASCII using this formatter.
+     * <p>
+     * This is intended for network protocols and log sinks that need the
+     * text as bytes. The text is the same as from {@link #format(TemporalAccessor)},
+     * but is encoded at one byte per character without creating a {@code String}.
+     * <p>
+     * The formatter must only output ASCII characters, as is the case for numeric
+     * patterns using {@link DecimalStyle#STANDARD}. If any other character is
+     * output, or the text does not fit, an exception is thrown and the array is unchanged.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param dst  the array to write to, not null
+     * @param offset  the index in the array to write the first byte to
+     * @return the number of bytes written
+     * @throws DateTimeException if an error occurs during formatting, or the text is not ASCII
+     * @throws IndexOutOfBoundsException if the offset is negative or the text does not fit
+     */
+    public int formatTo(TemporalAccessor temporal, byte[] dst, int offset) {
+        Jdk8Methods.requireNonNull(dst, "dst");
+        StringBuilder buf = formatAscii(temporal);
+        int length = buf.length();
+        if (offset < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Unable to write " + length + " bytes at offset " + offset +
+                    " to array of length " + dst.length);
+        }
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = (byte) buf.charAt(i);
+        }
+        return length;
+    }
+
+    /**
+     * Formats a date-time object to a byte buffer as US-ASCII using this formatter.
+     * <p>
+     * This behaves as {@link #formatTo(TemporalAccessor, byte[], int)}, writing
+     * the bytes at the current position of the buffer and advancing it.
+     * If an exception is thrown, the buffer is unchanged.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param dst  the buffer to write to, not null
+     * @return the number of bytes written
+     * @throws DateTimeException if an error occurs during formatting, or the text is not ASCII
+     * @throws BufferOverflowException if the text does not fit in the remaining space
+     * @throws ReadOnlyBufferException if the buffer is read-only
+     */
+    public int formatTo(TemporalAccessor temporal, ByteBuffer dst) {
+        Jdk8Methods.requireNonNull(dst, "dst");
+        StringBuilder buf = formatAscii(temporal);
+        int length = buf.length();
+        if (dst.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            dst.put((byte) buf.charAt(i));
+        }
+        return length;
+    }
+
+    /**
+     * Formats to a builder, checking the output is US-ASCII.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @return the formatted text, not null
+     * @throws DateTimeException if an error occurs during formatting, or the text is not ASCII
+     */
+    private StringBuilder formatAscii(TemporalAccessor temporal) {
+        StringBuilder buf = new StringBuilder(32);
+        formatTo(temporal, buf);
+        for (int i = 0; i < buf.length(); i++) {
+            if (buf.charAt(i) > 0x7F) {
+                throw new DateTimeException("Formatted text is not US-ASCII: " + buf);
+            }
+        }
+        return buf;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Fully parses the text producing a temporal object.
@@ -1497,6 +1684,218 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Fully parses the text producing an object of the specified type,
+     * returning null instead of throwing an exception.
+     * <p>
+     * This parses as per {@link #parse(CharSequence, TemporalQuery)}, but is intended
+     * for input where failures are common, such as when detecting the format of data.
+     * A failure returns null without creating a {@code DateTimeParseException},
+     * and the standard queries, such as {@code LocalDate.FROM}, are not invoked
+     * when the data they need has not been parsed.
+     * A query that returns null is indistinguishable from a failure.
+     * <p>
+     * Use {@link #tryParse(CharSequence, ParsePosition, TemporalQuery)} to find the
+     * index of the error.
+     *
+     * @param <T> the type of the parsed date-time
+     * @param text  the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, null if unable to parse the requested result
+     */
+    public <T> T tryParse(CharSequence text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(type, "type");
+        return tryParse0(text, new ParsePosition(0), type, true);
+    }
+
+    /**
+     * Parses the text from a position producing an object of the specified type,
+     * returning null instead of throwing an exception.
+     * <p>
+     * This parses as per {@link #tryParse(CharSequence, TemporalQuery)}, except that
+     * parsing starts at the index of the position and need not reach the end of the text.
+     * <p>
+     * If the parse succeeds, the index of the position is updated to the index after
+     * the last character parsed. If it fails, null is returned, the index is unchanged
+     * and the error index is set. The error index is where the text failed to match
+     * the formatter, or the start index if the parsed fields could not be resolved
+     * to the requested type.
+     *
+     * @param <T> the type of the parsed date-time
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from, updated with length parsed
+     *  and the index of any error, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, null if unable to parse the requested result
+     * @throws IndexOutOfBoundsException if the position is invalid
+     */
+    public <T> T tryParse(CharSequence text, ParsePosition position, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(position, "position");
+        Jdk8Methods.requireNonNull(type, "type");
+        return tryParse0(text, position, type, false);
+    }
+
+    private <T> T tryParse0(CharSequence text, ParsePosition position, TemporalQuery<T> type, boolean wholeText) {
+        int start = position.getIndex();
+        Parsed parsed;
+        try {
+            parsed = parseUnresolved0(new DateTimeParseContext(this), text, position);
+        } catch (DateTimeException ex) {
+            position.setErrorIndex(start);
+            return null;
+        }
+        if (parsed == null) {
+            return null;
+        }
+        if (wholeText && position.getIndex() < text.length()) {
+            position.setErrorIndex(position.getIndex());
+            position.setIndex(start);
+            return null;
+        }
+        T result = buildOrNull(parsed.toBuilder(), type);
+        if (result == null) {
+            position.setErrorIndex(start);
+            position.setIndex(start);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the builder and queries it, returning null instead of throwing an exception.
+     *
+     * @param builder  the builder to resolve, not null
+     * @param type  the type to extract, not null
+     * @return the result of the query, null if unable to resolve or query
+     */
+    private <T> T buildOrNull(DateTimeBuilder builder, TemporalQuery<T> type) {
+        try {
+            builder.resolve(resolverStyle, resolverFields);
+            if (isQueryPossible(builder, type) == false) {
+                return null;
+            }
+            return builder.build(type);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Fully parses US-ASCII bytes in an array producing an object of the specified type.
+     * <p>
+     * This behaves as {@link #parse(CharSequence, TemporalQuery)}, but reads the
+     * bytes directly, one character per byte, without decoding them to a {@code String}.
+     * This suits numeric formats read from the network or from files.
+     * Any byte outside US-ASCII will fail to match.
+     * <p>
+     * Text held in a {@link java.nio.CharBuffer} can be passed directly to
+     * {@code parse(CharSequence, TemporalQuery)}, as it is a {@code CharSequence}.
+     *
+     * @param <T> the type of the parsed date-time
+     * @param text  the array of bytes to parse, not null
+     * @param offset  the index of the first byte to parse
+     * @param length  the number of bytes to parse
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws IndexOutOfBoundsException if the offset or length is invalid
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parse(byte[] text, int offset, int length, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        return parse(new AsciiCharSequence(ByteBuffer.wrap(text, offset, length)), type);
+    }
+
+    /**
+     * Fully parses US-ASCII bytes in a buffer producing an object of the specified type.
+     * <p>
+     * This behaves as {@link #parse(byte[], int, int, TemporalQuery)}, parsing
+     * the bytes from the position to the limit of the buffer.
+     * The position of the buffer is not changed.
+     *
+     * @param <T> the type of the parsed date-time
+     * @param text  the buffer of bytes to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parse(ByteBuffer text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        return parse(new AsciiCharSequence(text), type);
+    }
+
+    /**
+     * Fully parses the text producing a {@code LocalDate}.
+     * <p>
+     * This is equivalent to {@code parse(text, LocalDate.FROM)}.
+     * Formatters consisting only of numeric fields, literals, fractions and offsets,
+     * such as the ISO formatters, parse the fields directly to the date without
+     * resolving a map of fields. Other formatters, and text that cannot be handled
+     * directly, use the general parse.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public LocalDate parseLocalDate(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (compiledParser != null) {
+            LocalDate date = compiledParser.parseLocalDate(text, new CompiledParser.Values());
+            if (date != null) {
+                return date;
+            }
+        }
+        return parse(text, LocalDate.FROM);
+    }
+
+    /**
+     * Fully parses the text producing a {@code LocalDateTime}.
+     * <p>
+     * This is equivalent to {@code parse(text, LocalDateTime.FROM)}.
+     * Formatters consisting only of numeric fields, literals, fractions and offsets,
+     * such as the ISO formatters, parse the fields directly to the date-time without
+     * resolving a map of fields. Other formatters, and text that cannot be handled
+     * directly, use the general parse.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (compiledParser != null) {
+            LocalDateTime dateTime = compiledParser.parseLocalDateTime(text, new CompiledParser.Values());
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return parse(text, LocalDateTime.FROM);
+    }
+
+    /**
+     * Fully parses the text producing an {@code Instant}.
+     * <p>
+     * This is equivalent to {@code parse(text, Instant.FROM)}.
+     * Formatters consisting only of numeric fields, literals, fractions, offsets and instants,
+     * such as {@link #ISO_INSTANT} and {@link #ISO_OFFSET_DATE_TIME}, parse the fields directly
+     * to the instant without resolving a map of fields. Other formatters, and text that
+     * cannot be handled directly, use the general parse.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed instant, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public Instant parseInstant(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (compiledParser != null) {
+            Instant instant = compiledParser.parseInstant(text, new CompiledParser.Values());
+            if (instant != null) {
+                return instant;
+            }
+        }
+        return parse(text, Instant.FROM);
+    }
+
     /**
      * Fully parses the text producing an object of one of the specified types.
      * <p>
@@ -1532,24 +1931,56 @@ public final class DateTimeFormatter {
         if (types.length < 2) {
             throw new IllegalArgumentException("At least two types must be specified");
         }
+        DateTimeBuilder builder;
         try {
-            DateTimeBuilder builder = parseToBuilder(text, null).resolve(resolverStyle, resolverFields);
-            for (TemporalQuery<?> type : types) {
-                try {
-                    return (TemporalAccessor) builder.build(type);
-                } catch (RuntimeException ex) {
-                    // continue
-                }
-            }
-            throw new DateTimeException("Unable to convert parsed text to any specified type: " + Arrays.toString(types));
+            builder = parseToBuilder(text, null).resolve(resolverStyle, resolverFields);
         } catch (DateTimeParseException ex) {
             throw ex;
         } catch (RuntimeException ex) {
             throw createError(text, ex);
         }
+        for (TemporalQuery<?> type : types) {
+            try {
+                if (isQueryPossible(builder, type)) {
+                    return (TemporalAccessor) builder.build(type);
+                }
+            } catch (RuntimeException ex) {
+                // continue
+            }
+        }
+        throw createError(text, new DateTimeException("Unable to convert parsed text to any specified type: " + Arrays.toString(types)));
+    }
+
+    /**
+     * Checks if a query can possibly succeed against a resolved builder.
+     * <p>
+     * The standard {@code FROM} queries throw an exception with a detailed message
+     * if the data they need is missing. This checks for that data first, so that
+     * trying several queries does not create an exception for each that fails.
+     * Any other query is assumed to be possible.
+     *
+     * @param builder  the resolved builder, not null
+     * @param type  the query, not null
+     * @return false if the query is known to fail
+     */
+    static boolean isQueryPossible(DateTimeBuilder builder, TemporalQuery<?> type) {
+        if (type == LocalDate.FROM) {
+            return builder.query(TemporalQueries.localDate()) != null;
+        } else if (type == LocalTime.FROM) {
+            return builder.query(TemporalQueries.localTime()) != null;
+        } else if (type == LocalDateTime.FROM) {
+            return builder.query(TemporalQueries.localDate()) != null && builder.query(TemporalQueries.localTime()) != null;
+        } else if (type == OffsetDateTime.FROM) {
+            return builder.query(TemporalQueries.offset()) != null;
+        } else if (type == ZonedDateTime.FROM) {
+            return builder.query(TemporalQueries.zone()) != null;
+        } else if (type == Instant.FROM) {
+            return builder.isSupported(INSTANT_SECONDS);
+        }
+        return true;
     }
 
-    private DateTimeParseException createError(CharSequence text, RuntimeException ex) {
+    DateTimeParseException createError(CharSequence text, RuntimeException ex) {
         String abbr = "";
         if (text.length() > 64) {
             abbr = text.subSequence(0, 64).toString() + "...";
@@ -1575,8 +2006,25 @@ public final class DateTimeFormatter {
      */
     private DateTimeBuilder parseToBuilder(final CharSequence text, final ParsePosition position) {
         ParsePosition pos = (position != null ? position : new ParsePosition(0));
-        Parsed result = parseUnresolved0(text, pos);
-        if (result == null || pos.getErrorIndex() >= 0 || (position == null && pos.getIndex() < text.length())) {
+        Jdk8Methods.requireNonNull(text, "text");
+        return parseToParsed(new DateTimeParseContext(this), text, pos, position == null).toBuilder();
+    }
+
+    /**
+     * Parses the text using the specified context.
+     * <p>
+     * This throws {@link DateTimeParseException} if unable to parse.
+     *
+     * @param context  the context to parse into, not null
+     * @param text  the text to parse, not null
+     * @param pos  the position to parse from, updated with length parsed and the index of any error, not null
+     * @param wholeText  whether the whole text must be parsed
+     * @return the result of the parse, not null
+     * @throws DateTimeParseException if the parse fails
+     */
+    Parsed parseToParsed(DateTimeParseContext context, CharSequence text, ParsePosition pos, boolean wholeText) {
+        Parsed result = parseUnresolved0(context, text, pos);
+        if (result == null || pos.getErrorIndex() >= 0 || (wholeText && pos.getIndex() < text.length())) {
             String abbr = "";
             if (text.length() > 64) {
                 abbr = text.subSequence(0, 64).toString() + "...";
@@ -1591,7 +2039,7 @@ public final class DateTimeFormatter {
                         pos.getIndex(), text, pos.getIndex());
             }
         }
-        return result.toBuilder();
+        return result;
     }
 
     /**
@@ -1640,7 +2088,10 @@ public final class DateTimeFormatter {
     private Parsed parseUnresolved0(CharSequence text, ParsePosition position) {
         Jdk8Methods.requireNonNull(text, "text");
         Jdk8Methods.requireNonNull(position, "position");
-        DateTimeParseContext context = new DateTimeParseContext(this);
+        return parseUnresolved0(new DateTimeParseContext(this), text, position);
+    }
+
+    Parsed parseUnresolved0(DateTimeParseContext context, CharSequence text, ParsePosition position) {
         int pos = position.getIndex();
         pos = printerParser.parse(context, text, pos);
         if (pos < 0) {
@@ -1651,6 +2102,156 @@ public final class DateTimeFormatter {
         return context.toParsed();
     }
 
+    /**
+     * Parses each text to the epoch-second and nano-of-second of an instant.
+     * <p>
+     * Each text is parsed as per {@link #parseInstant(CharSequence)}, with the result
+     * stored in the output arrays at the same index.
+     * Instead of throwing an exception, a text that cannot be parsed, including a null text,
+     * is reported by setting the bit for its index in the returned bit set, and zero is stored
+     * in the output arrays. This avoids the cost of an exception for each invalid text.
+     * <p>
+     * Texts without an offset, such as those parsed by {@link #ISO_LOCAL_DATE_TIME},
+     * can be parsed using a formatter with an override zone, see {@link #withZone(ZoneId)}.
+     * <p>
+     * This uses a single {@link #newParser() reusable parser} for all the texts.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param epochSeconds  the array to store the epoch-seconds in, at least as long as the texts, not null
+     * @param nanos  the array to store the nano-of-second in, at least as long as the texts, null if not required
+     * @return the indices of the texts that could not be parsed, empty if all were parsed, not null
+     * @throws IllegalArgumentException if an output array is shorter than the texts
+     */
+    public BitSet parseToEpochSeconds(CharSequence[] texts, long[] epochSeconds, int[] nanos) {
+        return newParser().parseToEpochSeconds(texts, epochSeconds, nanos);
+    }
+
+    /**
+     * Parses each text to the epoch-day of a date.
+     * <p>
+     * Each text is parsed as per {@link #parseLocalDate(CharSequence)}, with the result
+     * stored in the output array at the same index.
+     * Instead of throwing an exception, a text that cannot be parsed, including a null text,
+     * is reported by setting the bit for its index in the returned bit set, and zero is stored
+     * in the output array. This avoids the cost of an exception for each invalid text.
+     * <p>
+     * This uses a single {@link #newParser() reusable parser} for all the texts.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param epochDays  the array to store the epoch-days in, at least as long as the texts, not null
+     * @return the indices of the texts that could not be parsed, empty if all were parsed, not null
+     * @throws IllegalArgumentException if the output array is shorter than the texts
+     */
+    public BitSet parseToEpochDays(CharSequence[] texts, long[] epochDays) {
+        return newParser().parseToEpochDays(texts, epochDays);
+    }
+
+    /**
+     * Parses each text to the epoch-second and nano-of-second of an instant,
+     * splitting the work across the specified executor.
+     * <p>
+     * This behaves as per {@link #parseToEpochSeconds(CharSequence[], long[], int[])},
+     * but the texts are split into contiguous chunks which are parsed in parallel.
+     * Each chunk uses its own {@link #newParser() reusable parser}.
+     * The calling thread also parses chunks, then blocks until the chunks in progress
+     * in other threads are complete. Chunks are never left queued behind the caller,
+     * thus this may be called from a thread of the same executor.
+     * If the executor rejects a chunk, the remaining chunks are parsed in the calling thread.
+     * <p>
+     * The result is the same as that of the sequential method, regardless of how the work is split.
+     * Small inputs are parsed entirely in the calling thread.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param epochSeconds  the array to store the epoch-seconds in, at least as long as the texts, not null
+     * @param nanos  the array to store the nano-of-second in, at least as long as the texts, null if not required
+     * @param executor  the executor to parse the chunks with, not null
+     * @return the indices of the texts that could not be parsed, empty if all were parsed, not null
+     * @throws IllegalArgumentException if an output array is shorter than the texts
+     */
+    public BitSet parseToEpochSeconds(
+            final CharSequence[] texts, final long[] epochSeconds, final int[] nanos, Executor executor) {
+        Jdk8Methods.requireNonNull(texts, "texts");
+        Jdk8Methods.requireNonNull(epochSeconds, "epochSeconds");
+        Jdk8Methods.requireNonNull(executor, "executor");
+        DateTimeParser.checkLength(texts, epochSeconds.length);
+        if (nanos != null) {
+            DateTimeParser.checkLength(texts, nanos.length);
+        }
+        int chunks = ChunkedExecution.chunkCount(texts.length);
+        final BitSet[] errors = new BitSet[chunks];
+        new ChunkedExecution() {
+            @Override
+            void process(int chunk, int from, int to) {
+                errors[chunk] = new BitSet();
+                newParser().parseToEpochSeconds(texts, from, to, epochSeconds, nanos, errors[chunk]);
+            }
+        }.execute(executor, texts.length, chunks);
+        return merge(errors);
+    }
+
+    /**
+     * Parses each text to the epoch-day of a date,
+     * splitting the work across the specified executor.
+     * <p>
+     * This behaves as per {@link #parseToEpochDays(CharSequence[], long[])},
+     * but the texts are split into contiguous chunks which are parsed in parallel.
+     * Each chunk uses its own {@link #newParser() reusable parser}.
+     * The calling thread also parses chunks, then blocks until the chunks in progress
+     * in other threads are complete. Chunks are never left queued behind the caller,
+     * thus this may be called from a thread of the same executor.
+     * If the executor rejects a chunk, the remaining chunks are parsed in the calling thread.
+     * <p>
+     * The result is the same as that of the sequential method, regardless of how the work is split.
+     * Small inputs are parsed entirely in the calling thread.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param epochDays  the array to store the epoch-days in, at least as long as the texts, not null
+     * @param executor  the executor to parse the chunks with, not null
+     * @return the indices of the texts that could not be parsed, empty if all were parsed, not null
+     * @throws IllegalArgumentException if the output array is shorter than the texts
+     */
+    public BitSet parseToEpochDays(final CharSequence[] texts, final long[] epochDays, Executor executor) {
+        Jdk8Methods.requireNonNull(texts, "texts");
+        Jdk8Methods.requireNonNull(epochDays, "epochDays");
+        Jdk8Methods.requireNonNull(executor, "executor");
+        DateTimeParser.checkLength(texts, epochDays.length);
+        int chunks = ChunkedExecution.chunkCount(texts.length);
+        final BitSet[] errors = new BitSet[chunks];
+        new ChunkedExecution() {
+            @Override
+            void process(int chunk, int from, int to) {
+                errors[chunk] = new BitSet();
+                newParser().parseToEpochDays(texts, from, to, epochDays, errors[chunk]);
+            }
+        }.execute(executor, texts.length, chunks);
+        return merge(errors);
+    }
+
+    private static BitSet merge(BitSet[] errors) {
+        BitSet merged = errors[0];
+        for (int i = 1; i < errors.length; i++) {
+            merged.or(errors[i]);
+        }
+        return merged;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a new reusable parser for this formatter.
+     * <p>
+     * Each parse using this formatter creates a new parse context to hold the parsed
+     * fields and a new builder to resolve them. The returned parser creates these
+     * objects once and reuses them for each parse, reducing the garbage created
+     * when parsing a large number of texts in a loop.
+     * <p>
+     * The returned parser is not thread-safe and should only be used from a single thread.
+     *
+     * @return a new reusable parser for this formatter, not null
+     */
+    public DateTimeParser newParser() {
+        return new DateTimeParser(this, compiledParser);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns the formatter as a composite printer parser.
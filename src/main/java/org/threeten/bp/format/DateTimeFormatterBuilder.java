@@ -62,6 +62,8 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.Instant;
@@ -733,6 +735,10 @@ public final class DateTimeFormatterBuilder {
             public Iterator<Entry<String, Long>> getTextIterator(TemporalField field, TextStyle style, Locale locale) {
                 return store.getTextIterator(style);
             }
+            @Override
+            PrefixTree<Long> getTextTree(TemporalField field, TextStyle style, Locale locale) {
+                return store.getTextTree(style);
+            }
         };
         appendInternal(new TextPrinterParser(field, TextStyle.FULL, provider));
         return this;
@@ -1959,8 +1965,8 @@ public final class DateTimeFormatterBuilder {
      * Composite printer and parser.
      */
     static final class CompositePrinterParser implements DateTimePrinterParser {
-        private final DateTimePrinterParser[] printerParsers;
-        private final boolean optional;
+        final DateTimePrinterParser[] printerParsers;
+        final boolean optional;
 
         CompositePrinterParser(List<DateTimePrinterParser> printerParsers, boolean optional) {
             this(printerParsers.toArray(new DateTimePrinterParser[printerParsers.size()]), optional);
@@ -2192,7 +2198,7 @@ public final class DateTimeFormatterBuilder {
      * Prints or parses a character literal.
      */
     static final class CharLiteralPrinterParser implements DateTimePrinterParser {
-        private final char literal;
+        final char literal;
 
         CharLiteralPrinterParser(char literal) {
             this.literal = literal;
@@ -2231,7 +2237,7 @@ public final class DateTimeFormatterBuilder {
      * Prints or parses a string literal.
      */
     static final class StringLiteralPrinterParser implements DateTimePrinterParser {
-        private final String literal;
+        final String literal;
 
         StringLiteralPrinterParser(String literal) {
             this.literal = literal;  // validated by caller
@@ -2658,10 +2664,10 @@ public final class DateTimeFormatterBuilder {
      * Prints and parses a numeric date-time field with optional padding.
      */
     static final class FractionPrinterParser implements DateTimePrinterParser {
-        private final TemporalField field;
-        private final int minWidth;
-        private final int maxWidth;
-        private final boolean decimalPoint;
+        final TemporalField field;
+        final int minWidth;
+        final int maxWidth;
+        final boolean decimalPoint;
 
         /**
          * Constructor.
@@ -2869,6 +2875,17 @@ public final class DateTimeFormatterBuilder {
                 throw new IndexOutOfBoundsException();
             }
             TextStyle style = (context.isStrict() ? textStyle : null);
+            PrefixTree<Long> tree = provider.getTextTree(field, style, context.getLocale());
+            if (tree != null) {
+                PrefixTree<Long> match = tree.match(context, parseText, position);
+                if (match != null) {
+                    return context.setParsedField(field, match.getValue(), position, position + match.getKey().length());
+                }
+                if (context.isStrict()) {
+                    return ~position;
+                }
+                return numberPrinterParser().parse(context, parseText, position);
+            }
             Iterator<Entry<String, Long>> it = provider.getTextIterator(field, style, context.getLocale());
             if (it != null) {
                 while (it.hasNext()) {
@@ -2913,10 +2930,10 @@ public final class DateTimeFormatterBuilder {
         // days in a 400 year cycle = 146097
         // days in a 10,000 year cycle = 146097 * 25
         // seconds per day = 86400
-        private static final long SECONDS_PER_10000_YEARS = 146097L * 25L * 86400L;
-        private static final long SECONDS_0000_TO_1970 = ((146097L * 5L) - (30L * 365L + 7L)) * 86400L;
+        static final long SECONDS_PER_10000_YEARS = 146097L * 25L * 86400L;
+        static final long SECONDS_0000_TO_1970 = ((146097L * 5L) - (30L * 365L + 7L)) * 86400L;
 
-        private final int fractionalDigits;
+        final int fractionalDigits;
 
         InstantPrinterParser(int fractionalDigits) {
             this.fractionalDigits = fractionalDigits;
@@ -3059,8 +3076,8 @@ public final class DateTimeFormatterBuilder {
         };  // order used in pattern builder
         static final OffsetIdPrinterParser INSTANCE_ID = new OffsetIdPrinterParser("Z", "+HH:MM:ss");
 
-        private final String noOffsetText;
-        private final int type;
+        final String noOffsetText;
+        final int type;
 
         /**
          * Constructor.
@@ -3349,6 +3366,14 @@ public final class DateTimeFormatterBuilder {
                 return cmp;
             }
         };
+        /**
+         * The cached names using the long style, by locale.
+         */
+        private static final ConcurrentMap<Locale, ZoneNames> LONG_NAMES = new ConcurrentHashMap<Locale, ZoneNames>(16, 0.75f, 2);
+        /**
+         * The cached names using the short style, by locale.
+         */
+        private static final ConcurrentMap<Locale, ZoneNames> SHORT_NAMES = new ConcurrentHashMap<Locale, ZoneNames>(16, 0.75f, 2);
         /** The text style to output. */
         private final TextStyle textStyle;
 
@@ -3373,9 +3398,7 @@ public final class DateTimeFormatterBuilder {
                 Instant instant = Instant.ofEpochSecond(temporal.getLong(INSTANT_SECONDS));
                 daylight = zone.getRules().isDaylightSavings(instant);
             }
-            TimeZone tz = TimeZone.getTimeZone(zone.getId());
-            int tzstyle = (textStyle.asNormal() == TextStyle.FULL ? TimeZone.LONG : TimeZone.SHORT);
-            String text = tz.getDisplayName(daylight, tzstyle, context.getLocale());
+            String text = zoneNames(context.getLocale()).getDisplayName(zone.getId(), daylight);
             buf.append(text);
             return true;
         }
@@ -3384,34 +3407,101 @@ public final class DateTimeFormatterBuilder {
         public int parse(DateTimeParseContext context, CharSequence text, int position) {
             // this is a poor implementation that handles some but not all of the spec
             // JDK8 has a lot of extra information here
-            Map<String, String> ids = new TreeMap<String, String>(LENGTH_COMPARATOR);
-            for (String id : ZoneId.getAvailableZoneIds()) {
-                ids.put(id, id);
-                TimeZone tz = TimeZone.getTimeZone(id);
-                int tzstyle = (textStyle.asNormal() == TextStyle.FULL ? TimeZone.LONG : TimeZone.SHORT);
-                String textWinter = tz.getDisplayName(false, tzstyle, context.getLocale());
-                if (id.startsWith("Etc/") || (!textWinter.startsWith("GMT+") && !textWinter.startsWith("GMT+"))) {
-                    ids.put(textWinter, id);
-                }
-                String textSummer = tz.getDisplayName(true, tzstyle, context.getLocale());
-                if (id.startsWith("Etc/") || (!textSummer.startsWith("GMT+") && !textSummer.startsWith("GMT+"))) {
-                    ids.put(textSummer, id);
-                }
+            PrefixTree<String> match = zoneNames(context.getLocale()).getParseTree().match(context, text, position);
+            if (match == null) {
+                return ~position;
             }
-            for (Entry<String, String> entry : ids.entrySet()) {
-                String name = entry.getKey();
-                if (context.subSequenceEquals(text, position, name, 0, name.length())) {
-                    context.setParsed(ZoneId.of(entry.getValue()));
-                    return position + name.length();
-                }
+            context.setParsed(ZoneId.of(match.getValue()));
+            return position + match.getKey().length();
+        }
+
+        /**
+         * Gets the cached names for the locale in the style of this parser.
+         *
+         * @param locale  the locale, not null
+         * @return the names, not null
+         */
+        private ZoneNames zoneNames(Locale locale) {
+            boolean full = (textStyle.asNormal() == TextStyle.FULL);
+            ConcurrentMap<Locale, ZoneNames> cache = (full ? LONG_NAMES : SHORT_NAMES);
+            ZoneNames names = cache.get(locale);
+            if (names == null) {
+                cache.putIfAbsent(locale, new ZoneNames(locale, full ? TimeZone.LONG : TimeZone.SHORT));
+                names = cache.get(locale);
             }
-            return ~position;
+            return names;
         }
 
         @Override
         public String toString() {
             return "ZoneText(" + textStyle + ")";
         }
+
+        //-----------------------------------------------------------------------
+        /**
+         * The display names of zones for a single locale and style.
+         * <p>
+         * The display names of each zone are looked up once.
+         * The parse tree is built once for each set of available zone IDs, as
+         * the set is replaced whenever a provider is registered.
+         */
+        private static final class ZoneNames {
+            private final Locale locale;
+            private final int tzstyle;
+            /**
+             * The winter and summer display names, by zone ID.
+             */
+            private final ConcurrentMap<String, String[]> displayNames = new ConcurrentHashMap<String, String[]>(512, 0.75f, 2);
+            /**
+             * The cached tree to speed up parsing, keyed by the set of zone IDs it was built from.
+             */
+            private volatile Entry<Set<String>, PrefixTree<String>> cachedParseTree;
+
+            ZoneNames(Locale locale, int tzstyle) {
+                this.locale = locale;
+                this.tzstyle = tzstyle;
+            }
+
+            String getDisplayName(String zoneId, boolean daylight) {
+                String[] names = displayNames.get(zoneId);
+                if (names == null) {
+                    TimeZone tz = TimeZone.getTimeZone(zoneId);
+                    names = new String[] {tz.getDisplayName(false, tzstyle, locale), tz.getDisplayName(true, tzstyle, locale)};
+                    displayNames.putIfAbsent(zoneId, names);
+                }
+                return names[daylight ? 1 : 0];
+            }
+
+            PrefixTree<String> getParseTree() {
+                Set<String> regionIds = ZoneRulesProvider.getAvailableZoneIds();
+                Entry<Set<String>, PrefixTree<String>> cached = cachedParseTree;
+                if (cached == null || cached.getKey() != regionIds) {
+                    cachedParseTree = cached = new SimpleImmutableEntry<Set<String>, PrefixTree<String>>(regionIds, buildParseTree());
+                }
+                return cached.getValue();
+            }
+
+            private PrefixTree<String> buildParseTree() {
+                Map<String, String> ids = new TreeMap<String, String>(LENGTH_COMPARATOR);
+                for (String id : ZoneId.getAvailableZoneIds()) {
+                    ids.put(id, id);
+                    String textWinter = getDisplayName(id, false);
+                    if (id.startsWith("Etc/") || (!textWinter.startsWith("GMT+") && !textWinter.startsWith("GMT+"))) {
+                        ids.put(textWinter, id);
+                    }
+                    String textSummer = getDisplayName(id, true);
+                    if (id.startsWith("Etc/") || (!textSummer.startsWith("GMT+") && !textSummer.startsWith("GMT+"))) {
+                        ids.put(textSummer, id);
+                    }
+                }
+                // added longest first, then alphabetically, so ties ignoring case prefer the first alphabetically
+                PrefixTree<String> tree = new PrefixTree<String>();
+                for (Entry<String, String> entry : ids.entrySet()) {
+                    tree.add(entry.getKey(), entry.getValue());
+                }
+                return tree;
+            }
+        }
     }
 
     //-----------------------------------------------------------------------
@@ -32,10 +32,8 @@
 package org.threeten.bp.format;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import org.threeten.bp.Period;
 import org.threeten.bp.ZoneId;
@@ -91,9 +89,14 @@ final class DateTimeParseContext {
      */
     private boolean strict = true;
     /**
-     * The list of parsed data.
+     * The stack of parsed data, with one entry for each nested optional section.
+     * Entries above the current index are retained for reuse.
      */
     private final ArrayList<Parsed> parsed = new ArrayList<Parsed>();
+    /**
+     * The index of the current parsed data.
+     */
+    private int current;
 
     /**
      * Creates a new instance of the context.
@@ -137,6 +140,18 @@ final class DateTimeParseContext {
         return new DateTimeParseContext(this);
     }
 
+    /**
+     * Resets this context so that it can be used for another parse.
+     * <p>
+     * The parsed data objects are cleared and retained for reuse.
+     */
+    void reset() {
+        current = 0;
+        parsed.get(0).reset();
+        caseSensitive = true;
+        strict = true;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the locale.
@@ -286,7 +301,12 @@ final class DateTimeParseContext {
      * Starts the parsing of an optional segment of the input.
      */
     void startOptional() {
-        parsed.add(currentParsed().copy());
+        int next = current + 1;
+        if (next == parsed.size()) {
+            parsed.add(new Parsed());
+        }
+        parsed.get(next).copyFrom(parsed.get(current));
+        current = next;
     }
 
     /**
@@ -296,10 +316,12 @@ final class DateTimeParseContext {
      */
     void endOptional(boolean successful) {
         if (successful) {
-            parsed.remove(parsed.size() - 2);
-        } else {
-            parsed.remove(parsed.size() - 1);
+            // swap so that the optional data replaces the data it was copied from
+            Parsed optional = parsed.get(current);
+            parsed.set(current, parsed.get(current - 1));
+            parsed.set(current - 1, optional);
         }
+        current--;
     }
 
     //-----------------------------------------------------------------------
@@ -309,7 +331,7 @@ final class DateTimeParseContext {
      * @return the current temporal objects, not null
      */
     private Parsed currentParsed() {
-        return parsed.get(parsed.size() - 1);
+        return parsed.get(current);
     }
 
     //-----------------------------------------------------------------------
@@ -342,8 +364,8 @@ final class DateTimeParseContext {
      */
     int setParsedField(TemporalField field, long value, int errorPos, int successPos) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long old = currentParsed().fieldValues.put(field, value);
-        return (old != null && old.longValue() != value) ? ~errorPos : successPos;
+        boolean conflict = currentParsed().fieldValues.putValue(field, value);
+        return conflict ? ~errorPos : successPos;
     }
 
     /**
@@ -425,20 +447,27 @@ final class DateTimeParseContext {
     final class Parsed extends DefaultInterfaceTemporalAccessor {
         Chronology chrono = null;
         ZoneId zone = null;
-        final Map<TemporalField, Long> fieldValues = new HashMap<TemporalField, Long>();
+        final FieldValueMap fieldValues = new FieldValueMap();
         boolean leapSecond;
         Period excessDays = Period.ZERO;
         List<Object[]> callbacks;
 
         private Parsed() {
         }
-        protected Parsed copy() {
-            Parsed cloned = new Parsed();
-            cloned.chrono = this.chrono;
-            cloned.zone = this.zone;
-            cloned.fieldValues.putAll(this.fieldValues);
-            cloned.leapSecond = this.leapSecond;
-            return cloned;
+        void copyFrom(Parsed other) {
+            reset();
+            chrono = other.chrono;
+            zone = other.zone;
+            fieldValues.putAll(other.fieldValues);
+            leapSecond = other.leapSecond;
+        }
+        void reset() {
+            chrono = null;
+            zone = null;
+            fieldValues.clear();
+            leapSecond = false;
+            excessDays = Period.ZERO;
+            callbacks = null;
         }
         @Override
         public String toString() {
@@ -453,7 +482,7 @@ final class DateTimeParseContext {
             if (fieldValues.containsKey(field) == false) {
                 throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
             }
-            long value = fieldValues.get(field);
+            long value = fieldValues.getValue(field);
             return Jdk8Methods.safeToInt(value);
         }
         @Override
@@ -461,7 +490,7 @@ final class DateTimeParseContext {
             if (fieldValues.containsKey(field) == false) {
                 throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
             }
-            return fieldValues.get(field);
+            return fieldValues.getValue(field);
         }
         @SuppressWarnings("unchecked")
         @Override
@@ -488,7 +517,16 @@ final class DateTimeParseContext {
          * @return a new builder with the results of the parse, not null
          */
         DateTimeBuilder toBuilder() {
-            DateTimeBuilder builder = new DateTimeBuilder();
+            return toBuilder(new DateTimeBuilder());
+        }
+
+        /**
+         * Copies the results of the parse into an empty {@code DateTimeBuilder}.
+         *
+         * @param builder  the empty builder to populate, not null
+         * @return the builder, not null
+         */
+        DateTimeBuilder toBuilder(DateTimeBuilder builder) {
             builder.fieldValues.putAll(fieldValues);
             builder.chrono = getEffectiveChronology();
             if (zone != null) {
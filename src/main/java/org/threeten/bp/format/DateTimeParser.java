@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.threeten.bp.temporal.ChronoField.INSTANT_SECONDS;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+
+import java.text.ParsePosition;
+import java.util.BitSet;
+
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.format.DateTimeParseContext.Parsed;
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.TemporalQueries;
+import org.threeten.bp.temporal.TemporalQuery;
+
+/**
+ * A reusable parser for a single formatter, intended for parsing many texts in a loop.
+ * <p>
+ * Each parse using {@link DateTimeFormatter} creates a new parse context, the
+ * storage for the parsed fields and the builder used to resolve them.
+ * This parser creates those objects once and clears them before each parse,
+ * so that parsing a large number of texts, such as the rows of a file,
+ * creates little garbage other than the results.
+ * <p>
+ * Instances are obtained from {@link DateTimeFormatter#newParser()}.
+ * The results and exceptions of each method are the same as those
+ * of the equivalent method on the formatter.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and not thread-safe.
+ * It should only be used from a single thread, typically by creating one instance per thread.
+ */
+public final class DateTimeParser {
+
+    /**
+     * The formatter, not null.
+     */
+    private final DateTimeFormatter formatter;
+    /**
+     * The compiled parser of the formatter, null if not compiled.
+     */
+    private final CompiledParser compiledParser;
+    /**
+     * The reused values for the compiled parser.
+     */
+    private final CompiledParser.Values values = new CompiledParser.Values();
+    /**
+     * The reused parse context.
+     */
+    private final DateTimeParseContext context;
+    /**
+     * The reused parse position.
+     */
+    private final ParsePosition position = new ParsePosition(0);
+    /**
+     * The reused builder.
+     */
+    private final DateTimeBuilder builder = new DateTimeBuilder();
+
+    /**
+     * Constructor.
+     *
+     * @param formatter  the formatter, not null
+     * @param compiledParser  the compiled parser of the formatter, null if not compiled
+     */
+    DateTimeParser(DateTimeFormatter formatter, CompiledParser compiledParser) {
+        this.formatter = formatter;
+        this.compiledParser = compiledParser;
+        this.context = new DateTimeParseContext(formatter);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the formatter used by this parser.
+     *
+     * @return the formatter, not null
+     */
+    public DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Fully parses the text producing an object of the specified type.
+     * <p>
+     * This is equivalent to {@link DateTimeFormatter#parse(CharSequence, TemporalQuery)}.
+     * The temporal passed to the query is reused by the next parse,
+     * thus the query must not return or retain it.
+     * Queries such as {@code LocalDate.FROM} are suitable.
+     *
+     * @param <T> the type of the parsed date-time
+     * @param text  the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parse(CharSequence text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(type, "type");
+        try {
+            context.reset();
+            position.setIndex(0);
+            position.setErrorIndex(-1);
+            Parsed parsed = formatter.parseToParsed(context, text, position, true);
+            builder.clear();
+            parsed.toBuilder(builder).resolve(formatter.getResolverStyle(), formatter.getResolverFields());
+            return builder.build(type);
+        } catch (DateTimeParseException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw formatter.createError(text, ex);
+        }
+    }
+
+    /**
+     * Fully parses the text producing an object of the specified type,
+     * returning null instead of throwing an exception.
+     * <p>
+     * This is equivalent to {@link DateTimeFormatter#tryParse(CharSequence, TemporalQuery)}.
+     * The temporal passed to the query is reused by the next parse,
+     * thus the query must not return or retain it.
+     *
+     * @param <T> the type of the parsed date-time
+     * @param text  the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, null if unable to parse the requested result
+     */
+    public <T> T tryParse(CharSequence text, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(type, "type");
+        DateTimeBuilder resolved = resolveOrNull(text);
+        if (resolved == null) {
+            return null;
+        }
+        try {
+            if (DateTimeFormatter.isQueryPossible(resolved, type) == false) {
+                return null;
+            }
+            return resolved.build(type);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Fully parses the text producing a {@code LocalDate}.
+     * <p>
+     * This is equivalent to {@link DateTimeFormatter#parseLocalDate(CharSequence)}.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public LocalDate parseLocalDate(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (compiledParser != null) {
+            LocalDate date = compiledParser.parseLocalDate(text, values);
+            if (date != null) {
+                return date;
+            }
+        }
+        return parse(text, LocalDate.FROM);
+    }
+
+    /**
+     * Fully parses the text producing a {@code LocalDateTime}.
+     * <p>
+     * This is equivalent to {@link DateTimeFormatter#parseLocalDateTime(CharSequence)}.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (compiledParser != null) {
+            LocalDateTime dateTime = compiledParser.parseLocalDateTime(text, values);
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return parse(text, LocalDateTime.FROM);
+    }
+
+    /**
+     * Fully parses the text producing an {@code Instant}.
+     * <p>
+     * This is equivalent to {@link DateTimeFormatter#parseInstant(CharSequence)}.
+     *
+     * @param text  the text to parse, not null
+     * @return the parsed instant, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public Instant parseInstant(CharSequence text) {
+        Jdk8Methods.requireNonNull(text, "text");
+        if (compiledParser != null) {
+            Instant instant = compiledParser.parseInstant(text, values);
+            if (instant != null) {
+                return instant;
+            }
+        }
+        return parse(text, Instant.FROM);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses each text to the epoch-second and nano-of-second of an instant.
+     * <p>
+     * Each text is parsed as per {@link #parseInstant(CharSequence)}, with the result
+     * stored in the output arrays at the same index.
+     * Instead of throwing an exception, a text that cannot be parsed, including a null text,
+     * is reported by setting the bit for its index in the returned bit set, and zero is stored
+     * in the output arrays. This avoids the cost of an exception for each invalid text.
+     * <p>
+     * Texts without an offset, such as those parsed by {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME},
+     * can be parsed using a formatter with an override zone, see {@link DateTimeFormatter#withZone(ZoneId)}.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param epochSeconds  the array to store the epoch-seconds in, at least as long as the texts, not null
+     * @param nanos  the array to store the nano-of-second in, at least as long as the texts, null if not required
+     * @return the indices of the texts that could not be parsed, empty if all were parsed, not null
+     * @throws IllegalArgumentException if an output array is shorter than the texts
+     */
+    public BitSet parseToEpochSeconds(CharSequence[] texts, long[] epochSeconds, int[] nanos) {
+        Jdk8Methods.requireNonNull(texts, "texts");
+        Jdk8Methods.requireNonNull(epochSeconds, "epochSeconds");
+        checkLength(texts, epochSeconds.length);
+        if (nanos != null) {
+            checkLength(texts, nanos.length);
+        }
+        BitSet errors = new BitSet();
+        parseToEpochSeconds(texts, 0, texts.length, epochSeconds, nanos, errors);
+        return errors;
+    }
+
+    /**
+     * Parses the texts in the specified range to epoch-seconds.
+     *
+     * @param texts  the texts to parse, not null
+     * @param from  the first index to parse, inclusive
+     * @param to  the last index to parse, exclusive
+     * @param epochSeconds  the array to store the epoch-seconds in, not null
+     * @param nanos  the array to store the nano-of-second in, null if not required
+     * @param errors  the bit set to record failures in, not null
+     */
+    void parseToEpochSeconds(CharSequence[] texts, int from, int to, long[] epochSeconds, int[] nanos, BitSet errors) {
+        for (int i = from; i < to; i++) {
+            Instant instant = parseInstantOrNull(texts[i]);
+            if (instant != null) {
+                epochSeconds[i] = instant.getEpochSecond();
+                if (nanos != null) {
+                    nanos[i] = instant.getNano();
+                }
+            } else {
+                errors.set(i);
+                epochSeconds[i] = 0;
+                if (nanos != null) {
+                    nanos[i] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses each text to the epoch-day of a date.
+     * <p>
+     * Each text is parsed as per {@link #parseLocalDate(CharSequence)}, with the result
+     * stored in the output array at the same index.
+     * Instead of throwing an exception, a text that cannot be parsed, including a null text,
+     * is reported by setting the bit for its index in the returned bit set, and zero is stored
+     * in the output array. This avoids the cost of an exception for each invalid text.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param epochDays  the array to store the epoch-days in, at least as long as the texts, not null
+     * @return the indices of the texts that could not be parsed, empty if all were parsed, not null
+     * @throws IllegalArgumentException if the output array is shorter than the texts
+     */
+    public BitSet parseToEpochDays(CharSequence[] texts, long[] epochDays) {
+        Jdk8Methods.requireNonNull(texts, "texts");
+        Jdk8Methods.requireNonNull(epochDays, "epochDays");
+        checkLength(texts, epochDays.length);
+        BitSet errors = new BitSet();
+        parseToEpochDays(texts, 0, texts.length, epochDays, errors);
+        return errors;
+    }
+
+    /**
+     * Parses the texts in the specified range to epoch-days.
+     *
+     * @param texts  the texts to parse, not null
+     * @param from  the first index to parse, inclusive
+     * @param to  the last index to parse, exclusive
+     * @param epochDays  the array to store the epoch-days in, not null
+     * @param errors  the bit set to record failures in, not null
+     */
+    void parseToEpochDays(CharSequence[] texts, int from, int to, long[] epochDays, BitSet errors) {
+        for (int i = from; i < to; i++) {
+            LocalDate date = parseLocalDateOrNull(texts[i]);
+            if (date != null) {
+                epochDays[i] = date.toEpochDay();
+            } else {
+                errors.set(i);
+                epochDays[i] = 0;
+            }
+        }
+    }
+
+    static void checkLength(CharSequence[] texts, int outputLength) {
+        if (outputLength < texts.length) {
+            throw new IllegalArgumentException("Output array length " + outputLength +
+                    " is less than the number of texts " + texts.length);
+        }
+    }
+
+    /**
+     * Parses the text to an instant, returning null instead of throwing an exception.
+     */
+    private Instant parseInstantOrNull(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        if (compiledParser != null) {
+            Instant instant = compiledParser.parseInstant(text, values);
+            if (instant != null) {
+                return instant;
+            }
+        }
+        DateTimeBuilder resolved = resolveOrNull(text);
+        if (resolved == null || resolved.isSupported(INSTANT_SECONDS) == false || resolved.isSupported(NANO_OF_SECOND) == false) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochSecond(resolved.getLong(INSTANT_SECONDS), resolved.getLong(NANO_OF_SECOND));
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the text to a date, returning null instead of throwing an exception.
+     */
+    private LocalDate parseLocalDateOrNull(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        if (compiledParser != null) {
+            LocalDate date = compiledParser.parseLocalDate(text, values);
+            if (date != null) {
+                return date;
+            }
+        }
+        DateTimeBuilder resolved = resolveOrNull(text);
+        return (resolved != null ? resolved.query(TemporalQueries.localDate()) : null);
+    }
+
+    /**
+     * Parses and resolves the text using the general parse, returning null instead
+     * of throwing an exception.
+     * <p>
+     * Text that does not match the formatter is detected without an exception.
+     * Exceptions thrown while resolving, such as for an invalid date, are caught.
+     *
+     * @param text  the text to parse, not null
+     * @return the resolved builder, reused by the next parse, null if unable to parse
+     */
+    private DateTimeBuilder resolveOrNull(CharSequence text) {
+        context.reset();
+        position.setIndex(0);
+        position.setErrorIndex(-1);
+        try {
+            Parsed parsed = formatter.parseUnresolved0(context, text, position);
+            if (parsed == null || position.getIndex() < text.length()) {
+                return null;
+            }
+            builder.clear();
+            return parsed.toBuilder(builder).resolve(formatter.getResolverStyle(), formatter.getResolverFields());
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a description of this parser.
+     *
+     * @return a description of this parser, not null
+     */
+    @Override
+    public String toString() {
+        return "DateTimeParser[" + formatter + "]";
+    }
+
+}
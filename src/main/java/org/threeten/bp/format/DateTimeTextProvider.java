@@ -112,6 +112,23 @@ public abstract class DateTimeTextProvider {
      */
     public abstract Iterator<Entry<String, Long>> getTextIterator(TemporalField field, TextStyle style, Locale locale);
 
+    /**
+     * Gets a tree of text to field value for the specified field, locale and style
+     * for the purpose of parsing.
+     * <p>
+     * The tree must match the text of {@link #getTextIterator}, with a longer text preferred
+     * to a shorter one, and otherwise the text earlier in the iterator preferred.
+     * This implementation returns null, thus parsing uses the iterator.
+     *
+     * @param field  the field to get text for, not null
+     * @param style  the style to get text for, null for all parsable text
+     * @param locale  the locale to get text for, not null
+     * @return the tree of text to field value, null to parse using the iterator
+     */
+    PrefixTree<Long> getTextTree(TemporalField field, TextStyle style, Locale locale) {
+        return null;
+    }
+
     //-----------------------------------------------------------------------
     // use JVM class initializtion to lock the singleton without additional synchronization
     static class ProviderSingleton {
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * Map from field to value used when parsing and resolving.
+ * <p>
+ * The values of {@link ChronoField} fields are held in a {@code long} array indexed by
+ * the ordinal of the field, with a bit mask recording which fields are present.
+ * This avoids boxing each value and allocating a hash entry for each field, and allows
+ * the map to be copied cheaply. Other fields, such as those from {@code IsoFields}
+ * and {@code WeekFields}, are held in a separate hash map that is only created if needed.
+ * <p>
+ * The map implements the full {@code Map} interface, so it can be passed to
+ * {@link TemporalField#resolve} and {@code Chronology.resolveDate}.
+ * Null values are not permitted.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and not thread-safe.
+ * It should only be used from a single thread.
+ */
+final class FieldValueMap extends AbstractMap<TemporalField, Long> {
+
+    /**
+     * The chrono fields, indexed by ordinal.
+     * There are less than 64 fields, so the presence of each fits in a single {@code long}.
+     */
+    private static final ChronoField[] FIELDS = ChronoField.values();
+
+    /**
+     * The values of the chrono fields, indexed by ordinal.
+     */
+    private final long[] values = new long[FIELDS.length];
+    /**
+     * The chrono fields that are present, as a bit mask by ordinal.
+     */
+    private long present;
+    /**
+     * The values of other fields, null if none have been added.
+     */
+    private Map<TemporalField, Long> others;
+    /**
+     * The cached entry set.
+     */
+    private Set<Map.Entry<TemporalField, Long>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    FieldValueMap() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the field is present.
+     *
+     * @param field  the field to check, not null
+     * @return true if present
+     */
+    boolean contains(ChronoField field) {
+        return (present & (1L << field.ordinal())) != 0;
+    }
+
+    /**
+     * Gets the value of a field without boxing.
+     *
+     * @param field  the field to get, must be present
+     * @return the value
+     */
+    long getValue(TemporalField field) {
+        if (field instanceof ChronoField) {
+            return values[((ChronoField) field).ordinal()];
+        }
+        return others.get(field);
+    }
+
+    /**
+     * Stores the value of a field without boxing, returning whether a
+     * different value was already present.
+     *
+     * @param field  the field to store, not null
+     * @param value  the value to store
+     * @return true if a different value was replaced
+     */
+    boolean putValue(TemporalField field, long value) {
+        if (field instanceof ChronoField) {
+            int ordinal = ((ChronoField) field).ordinal();
+            long bit = 1L << ordinal;
+            boolean conflict = (present & bit) != 0 && values[ordinal] != value;
+            values[ordinal] = value;
+            present |= bit;
+            return conflict;
+        }
+        Long old = othersMap().put(field, value);
+        return old != null && old.longValue() != value;
+    }
+
+    private Map<TemporalField, Long> othersMap() {
+        if (others == null) {
+            others = new HashMap<TemporalField, Long>();
+        }
+        return others;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int size() {
+        return Long.bitCount(present) + (others != null ? others.size() : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return present == 0 && (others == null || others.isEmpty());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key instanceof ChronoField) {
+            return contains((ChronoField) key);
+        }
+        return others != null && others.containsKey(key);
+    }
+
+    @Override
+    public Long get(Object key) {
+        if (key instanceof ChronoField) {
+            int ordinal = ((ChronoField) key).ordinal();
+            return (present & (1L << ordinal)) != 0 ? Long.valueOf(values[ordinal]) : null;
+        }
+        return others != null ? others.get(key) : null;
+    }
+
+    @Override
+    public Long put(TemporalField key, Long value) {
+        Jdk8Methods.requireNonNull(key, "key");
+        Jdk8Methods.requireNonNull(value, "value");
+        if (key instanceof ChronoField) {
+            Long old = get(key);
+            putValue(key, value);
+            return old;
+        }
+        return othersMap().put(key, value);
+    }
+
+    @Override
+    public Long remove(Object key) {
+        if (key instanceof ChronoField) {
+            Long old = get(key);
+            present &= ~(1L << ((ChronoField) key).ordinal());
+            return old;
+        }
+        return others != null ? others.remove(key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends TemporalField, ? extends Long> map) {
+        if (map instanceof FieldValueMap) {
+            FieldValueMap other = (FieldValueMap) map;
+            long bits = other.present;
+            while (bits != 0) {
+                int ordinal = Long.numberOfTrailingZeros(bits);
+                values[ordinal] = other.values[ordinal];
+                bits &= bits - 1;
+            }
+            present |= other.present;
+            if (other.others != null && other.others.isEmpty() == false) {
+                othersMap().putAll(other.others);
+            }
+        } else {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public void clear() {
+        present = 0;
+        if (others != null) {
+            others.clear();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<TemporalField, Long>> entrySet() {
+        Set<Map.Entry<TemporalField, Long>> set = entrySet;
+        if (set == null) {
+            set = new AbstractSet<Map.Entry<TemporalField, Long>>() {
+                @Override
+                public Iterator<Map.Entry<TemporalField, Long>> iterator() {
+                    return new EntryIterator();
+                }
+                @Override
+                public int size() {
+                    return FieldValueMap.this.size();
+                }
+                @Override
+                public void clear() {
+                    FieldValueMap.this.clear();
+                }
+            };
+            entrySet = set;
+        }
+        return set;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Iterator over the chrono fields in ordinal order, followed by the other fields.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<TemporalField, Long>> {
+        /** The next ordinal to examine. */
+        private int nextOrdinal;
+        /** The ordinal of the last chrono field returned, -1 if none. */
+        private int lastOrdinal = -1;
+        /** The iterator over the other fields, null until the chrono fields are complete. */
+        private Iterator<Map.Entry<TemporalField, Long>> othersIterator;
+
+        @Override
+        public boolean hasNext() {
+            if (othersIterator == null) {
+                long remaining = (nextOrdinal < 64 ? present >>> nextOrdinal : 0);
+                if (remaining != 0) {
+                    return true;
+                }
+                return others != null && others.isEmpty() == false;
+            }
+            return othersIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<TemporalField, Long> next() {
+            if (othersIterator == null) {
+                long remaining = (nextOrdinal < 64 ? present >>> nextOrdinal : 0);
+                if (remaining != 0) {
+                    int ordinal = nextOrdinal + Long.numberOfTrailingZeros(remaining);
+                    nextOrdinal = ordinal + 1;
+                    lastOrdinal = ordinal;
+                    return new ChronoEntry(FIELDS[ordinal]);
+                }
+                if (others == null) {
+                    throw new NoSuchElementException();
+                }
+                nextOrdinal = 64;
+                othersIterator = others.entrySet().iterator();
+            }
+            lastOrdinal = -1;
+            return othersIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastOrdinal >= 0) {
+                present &= ~(1L << lastOrdinal);
+                lastOrdinal = -1;
+            } else if (othersIterator != null) {
+                othersIterator.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * Entry for a chrono field, reading and writing through to the map.
+     */
+    private final class ChronoEntry implements Map.Entry<TemporalField, Long> {
+        private final ChronoField field;
+
+        ChronoEntry(ChronoField field) {
+            this.field = field;
+        }
+
+        @Override
+        public TemporalField getKey() {
+            return field;
+        }
+
+        @Override
+        public Long getValue() {
+            return values[field.ordinal()];
+        }
+
+        @Override
+        public Long setValue(Long value) {
+            Jdk8Methods.requireNonNull(value, "value");
+            Long old = values[field.ordinal()];
+            values[field.ordinal()] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Map.Entry) {
+                Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+                return field.equals(other.getKey()) && getValue().equals(other.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return field.hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return field + "=" + getValue();
+        }
+    }
+
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.jdk8.PerThreadCounter;
+
+/**
+ * A bounded cache of formatters created from patterns, keyed by pattern and locale.
+ * <p>
+ * Formatters are immutable, thus a formatter created once from a pattern can be shared
+ * by every caller that asks for the same pattern and locale.
+ * <p>
+ * A lookup that finds a cached formatter takes no lock and performs no atomic write.
+ * Each entry is stamped with the number of formatters created when it was last used.
+ * When the cache is full, a batch of the least recently used formatters is evicted,
+ * thus the cost of eviction is shared between many misses.
+ * The recency is approximate, and the cache may briefly exceed its maximum size
+ * while another thread is evicting.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is thread-safe.
+ */
+final class PatternCache {
+
+    /**
+     * The system property used to enable the cache, holding the maximum number of formatters.
+     */
+    static final String SIZE_PROPERTY = "org.threeten.bp.format.DateTimeFormatter.patternCacheSize";
+    /**
+     * The fraction of the maximum size evicted in addition to any excess, as a divisor.
+     */
+    private static final int EVICTION_BATCH_DIVISOR = 10;
+
+    /**
+     * The maximum number of formatters to cache.
+     */
+    private final int maximumSize;
+    /**
+     * The cached formatters.
+     */
+    private final ConcurrentMap<Key, Node> map;
+    /**
+     * The clock used to stamp entries, advanced when a formatter is created.
+     */
+    private final AtomicLong clock = new AtomicLong();
+    /**
+     * Whether a thread is currently evicting.
+     */
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    /**
+     * The number of lookups that found a cached formatter.
+     */
+    private final PerThreadCounter hitCount = new PerThreadCounter();
+    /**
+     * The number of lookups that created a formatter.
+     */
+    private final PerThreadCounter missCount = new PerThreadCounter();
+
+    /**
+     * Creates the cache configured by the system property.
+     *
+     * @return the cache, null if the cache is not enabled
+     */
+    static PatternCache fromSystemProperty() {
+        try {
+            String value = System.getProperty(SIZE_PROPERTY);
+            if (value != null) {
+                int size = Integer.parseInt(value.trim());
+                if (size > 0) {
+                    return new PatternCache(size);
+                }
+            }
+        } catch (SecurityException ex) {
+            // not enabled
+        } catch (NumberFormatException ex) {
+            // not enabled
+        }
+        return null;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param maximumSize  the maximum number of formatters to cache, positive
+     */
+    PatternCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.map = new ConcurrentHashMap<Key, Node>(Math.min(maximumSize, 256) * 2, 0.75f, 4);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the formatter for the pattern and locale, creating and caching it if necessary.
+     *
+     * @param pattern  the pattern to use, not null
+     * @param locale  the locale to use, not null
+     * @return the formatter based on the pattern, not null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    DateTimeFormatter get(String pattern, Locale locale) {
+        Jdk8Methods.requireNonNull(pattern, "pattern");
+        Jdk8Methods.requireNonNull(locale, "locale");
+        Key key = new Key(pattern, locale);
+        Node node = map.get(key);
+        if (node != null) {
+            long now = clock.get();
+            if (node.lastAccess != now) {
+                // only write when the stamp changes, avoiding a write for each hit on a popular entry
+                node.lastAccess = now;
+            }
+            hitCount.increment();
+            return node.formatter;
+        }
+        missCount.increment();
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+        node = new Node(formatter, clock.getAndIncrement());
+        Node existing = map.putIfAbsent(key, node);
+        if (existing != null) {
+            return existing.formatter;
+        }
+        if (map.size() > maximumSize) {
+            evict();
+        }
+        return formatter;
+    }
+
+    /**
+     * Evicts a batch of the least recently used formatters, unless another thread is evicting.
+     * <p>
+     * This takes no lock, thus lookups continue while the map is scanned.
+     */
+    private void evict() {
+        if (evicting.compareAndSet(false, true) == false) {
+            return;
+        }
+        try {
+            int size;
+            while ((size = map.size()) > maximumSize) {
+                int count = size - maximumSize + maximumSize / EVICTION_BATCH_DIVISOR;
+                long cutoff = findCutoff(size, count);
+                Iterator<Node> it = map.values().iterator();
+                while (count > 0 && it.hasNext()) {
+                    if (it.next().lastAccess <= cutoff) {
+                        it.remove();
+                        count--;
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Finds the stamp at or before which the specified number of entries were last used.
+     *
+     * @param size  the expected number of entries
+     * @param count  the number of entries to evict, positive
+     * @return the cutoff stamp
+     */
+    private long findCutoff(int size, int count) {
+        long[] stamps = new long[size];
+        int found = 0;
+        for (Node node : map.values()) {
+            if (found == stamps.length) {
+                break;
+            }
+            stamps[found++] = node.lastAccess;
+        }
+        if (found == 0) {
+            return Long.MIN_VALUE;
+        }
+        Arrays.sort(stamps, 0, found);
+        return stamps[Math.min(count, found) - 1];
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the maximum number of formatters cached.
+     *
+     * @return the maximum size
+     */
+    int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the number of formatters currently cached.
+     *
+     * @return the size
+     */
+    int size() {
+        return map.size();
+    }
+
+    /**
+     * Gets the number of lookups that found a cached formatter.
+     *
+     * @return the hit count
+     */
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of lookups that created a formatter.
+     *
+     * @return the miss count
+     */
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The key of a cached formatter.
+     */
+    private static final class Key {
+        private final String pattern;
+        private final Locale locale;
+
+        Key(String pattern, Locale locale) {
+            this.pattern = pattern;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key other = (Key) obj;
+                return pattern.equals(other.pattern) && locale.equals(other.locale);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return pattern.hashCode() * 31 + locale.hashCode();
+        }
+    }
+
+    /**
+     * A cached formatter with the clock stamp when it was last used.
+     * <p>
+     * The stamp is written without synchronization, as it is only used to approximate recency.
+     */
+    private static final class Node {
+        final DateTimeFormatter formatter;
+        long lastAccess;
+
+        Node(DateTimeFormatter formatter, long lastAccess) {
+            this.formatter = formatter;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.Arrays;
+
+/**
+ * A tree of text keyed by character, used to find the longest text matching the input.
+ * <p>
+ * Each node of the tree is an instance of this class. A node that ends a key holds
+ * the key, its value and the order in which the key was added. When keys are
+ * matched ignoring case, more than one key of the same length can match, in
+ * which case the key added first is preferred, as it would be by a linear scan.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable while keys are added, and is not thread-safe.
+ * Once built and safely published it is not altered, and can be shared between threads.
+ *
+ * @param <V> the type of the value
+ */
+final class PrefixTree<V> {
+
+    /**
+     * The sorted characters leading to each child.
+     */
+    private char[] chars = new char[0];
+    /**
+     * The children, in the order of the characters.
+     */
+    private PrefixTree<?>[] children = new PrefixTree<?>[0];
+    /**
+     * The number of keys added, only used by the root.
+     */
+    private int size;
+    /**
+     * The key ending at this node, null if none.
+     */
+    private String key;
+    /**
+     * The value of the key.
+     */
+    private V value;
+    /**
+     * The order in which the key was added.
+     */
+    private int rank;
+
+    /**
+     * Adds a key to the tree.
+     * <p>
+     * If the key has already been added, the existing value is retained.
+     *
+     * @param key  the key to add, not null
+     * @param value  the value of the key
+     * @return true if added
+     */
+    boolean add(String key, V value) {
+        PrefixTree<V> node = this;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childFor(key.charAt(i));
+        }
+        int order = size++;
+        if (node.key != null) {
+            return false;
+        }
+        node.key = key;
+        node.value = value;
+        node.rank = order;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PrefixTree<V> childFor(char ch) {
+        int index = Arrays.binarySearch(chars, ch);
+        if (index < 0) {
+            index = ~index;
+            int count = chars.length;
+            char[] newChars = new char[count + 1];
+            PrefixTree<?>[] newChildren = new PrefixTree<?>[count + 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(chars, index, newChars, index + 1, count - index);
+            System.arraycopy(children, index, newChildren, index + 1, count - index);
+            newChars[index] = ch;
+            newChildren[index] = new PrefixTree<V>();
+            chars = newChars;
+            children = newChildren;
+        }
+        return (PrefixTree<V>) children[index];
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the longest key matching the text at the position.
+     * <p>
+     * This uses {@link DateTimeParseContext#isCaseSensitive()}.
+     *
+     * @param context  the context, not null
+     * @param text  the text to match, not null
+     * @param position  the position to match from, from 0 to the length of the text
+     * @return the node of the matching key, null if none
+     */
+    PrefixTree<V> match(DateTimeParseContext context, CharSequence text, int position) {
+        if (context.isCaseSensitive()) {
+            PrefixTree<V> best = null;
+            PrefixTree<V> node = this;
+            while (true) {
+                if (node.key != null) {
+                    best = node;
+                }
+                if (position >= text.length()) {
+                    return best;
+                }
+                int index = Arrays.binarySearch(node.chars, text.charAt(position++));
+                if (index < 0) {
+                    return best;
+                }
+                node = node.child(index);
+            }
+        }
+        return matchIgnoreCase(context, text, position, null);
+    }
+
+    private PrefixTree<V> matchIgnoreCase(DateTimeParseContext context, CharSequence text, int position, PrefixTree<V> best) {
+        if (key != null && (best == null || key.length() > best.key.length() ||
+                (key.length() == best.key.length() && rank < best.rank))) {
+            best = this;
+        }
+        if (position < text.length()) {
+            char ch = text.charAt(position);
+            for (int i = 0; i < chars.length; i++) {
+                if (context.charEquals(ch, chars[i])) {
+                    best = child(i).matchIgnoreCase(context, text, position + 1, best);
+                }
+            }
+        }
+        return best;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PrefixTree<V> child(int index) {
+        return (PrefixTree<V>) children[index];
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the key ending at this node.
+     *
+     * @return the key, null if no key ends at this node
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the value of the key ending at this node.
+     *
+     * @return the value
+     */
+    V getValue() {
+        return value;
+    }
+
+}
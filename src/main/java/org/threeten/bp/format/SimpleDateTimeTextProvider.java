@@ -74,9 +74,9 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
         }
     };
 
-    /** Cache. */
-    private final ConcurrentMap<Entry<TemporalField, Locale>, Object> cache =
-            new ConcurrentHashMap<Entry<TemporalField, Locale>, Object>(16, 0.75f, 2);
+    /** Cache, by field then locale, avoiding the creation of a key for each lookup. */
+    private final ConcurrentMap<TemporalField, ConcurrentMap<Locale, Object>> cache =
+            new ConcurrentHashMap<TemporalField, ConcurrentMap<Locale, Object>>(16, 0.75f, 2);
 
     //-----------------------------------------------------------------------
     @Override
@@ -97,14 +97,27 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
         return null;
     }
 
+    @Override
+    PrefixTree<Long> getTextTree(TemporalField field, TextStyle style, Locale locale) {
+        Object store = findStore(field, locale);
+        if (store instanceof LocaleStore) {
+            return ((LocaleStore) store).getTextTree(style);
+        }
+        return null;
+    }
+
     //-----------------------------------------------------------------------
     private Object findStore(TemporalField field, Locale locale) {
-        Entry<TemporalField, Locale> key = createEntry(field, locale);
-        Object store = cache.get(key);
+        ConcurrentMap<Locale, Object> fieldCache = cache.get(field);
+        if (fieldCache == null) {
+            cache.putIfAbsent(field, new ConcurrentHashMap<Locale, Object>(16, 0.75f, 2));
+            fieldCache = cache.get(field);
+        }
+        Object store = fieldCache.get(locale);
         if (store == null) {
             store = createStore(field, locale);
-            cache.putIfAbsent(key, store);
-            store = cache.get(key);
+            fieldCache.putIfAbsent(locale, store);
+            store = fieldCache.get(locale);
         }
         return store;
     }
@@ -310,6 +323,10 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
          * Parsable data.
          */
         private final Map<TextStyle, List<Entry<String, Long>>> parsable;
+        /**
+         * Parsable data as trees, built from the parsable data.
+         */
+        private final Map<TextStyle, PrefixTree<Long>> parseTrees;
 
         //-----------------------------------------------------------------------
         /**
@@ -336,6 +353,15 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
             }
             Collections.sort(allList, COMPARATOR);
             this.parsable = map;
+            Map<TextStyle, PrefixTree<Long>> trees = new HashMap<TextStyle, PrefixTree<Long>>();
+            for (Map.Entry<TextStyle, List<Entry<String, Long>>> entry : map.entrySet()) {
+                PrefixTree<Long> tree = new PrefixTree<Long>();
+                for (Entry<String, Long> textEntry : entry.getValue()) {
+                    tree.add(textEntry.getKey(), textEntry.getValue());
+                }
+                trees.put(entry.getKey(), tree);
+            }
+            this.parseTrees = trees;
         }
 
         //-----------------------------------------------------------------------
@@ -365,6 +391,18 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
             List<Entry<String, Long>> list = parsable.get(style);
             return list != null ? list.iterator() : null;
         }
+
+        /**
+         * Gets a tree of text to field value for the specified style for the purpose of parsing.
+         * <p>
+         * The tree prefers the text that would be found first by {@link #getTextIterator(TextStyle)}.
+         *
+         * @param style  the style to get text for, null for all parsable text
+         * @return the tree of text to field value, null if the style is not parsable
+         */
+        PrefixTree<Long> getTextTree(TextStyle style) {
+            return parseTrees.get(style);
+        }
     }
 
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.jdk8;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A statistics counter that is cheap to increment from many threads.
+ * <p>
+ * This class provides a subset of the functionality of {@code LongAdder} in JDK 8.
+ * <p>
+ * Each thread increments its own cell, using a plain ordered write rather than an
+ * atomic read-modify-write, thus increments never contend between threads.
+ * The total is the sum of the cells, which may lag increments made concurrently.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is thread-safe.
+ */
+public final class PerThreadCounter {
+
+    /**
+     * The cell of each thread that has incremented the counter.
+     */
+    private final CopyOnWriteArrayList<AtomicLong> cells = new CopyOnWriteArrayList<AtomicLong>();
+    /**
+     * The cell of the current thread, registered on first use.
+     */
+    private final ThreadLocal<AtomicLong> cell = new ThreadLocal<AtomicLong>() {
+        @Override
+        protected AtomicLong initialValue() {
+            AtomicLong created = new AtomicLong();
+            cells.add(created);
+            return created;
+        }
+    };
+
+    /**
+     * Creates an instance with a total of zero.
+     */
+    public PerThreadCounter() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Increments the counter.
+     */
+    public void increment() {
+        AtomicLong own = cell.get();
+        // only this thread writes the cell, so no read-modify-write is needed
+        own.lazySet(own.get() + 1);
+    }
+
+    /**
+     * Gets the total of all the increments.
+     *
+     * @return the total, not negative
+     */
+    public long sum() {
+        long total = 0;
+        for (AtomicLong c : cells) {
+            total += c.get();
+        }
+        return total;
+    }
+
+}
@@ -31,16 +31,25 @@
  */
 package org.threeten.bp.zone;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
@@ -68,6 +77,31 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * The last year to have its transitions cached.
      */
     private static final int LAST_CACHED_YEAR = 2100;
+    /**
+     * The first year to have its transitions cached in an array rather than the map.
+     */
+    private static final int FIRST_ARRAY_CACHED_YEAR = 1900;
+    /**
+     * The lists containing a single offset, shared to avoid allocation.
+     * This is bounded by the number of distinct offsets in use.
+     */
+    private static final ConcurrentMap<ZoneOffset, List<ZoneOffset>> SINGLE_OFFSET_LISTS =
+                new ConcurrentHashMap<ZoneOffset, List<ZoneOffset>>(64, 0.75f, 2);
+    /**
+     * The shared state for each distinct set of last rules still in use.
+     * The state is only weakly referenced, thus it is released once no rules refer to it,
+     * such as after the time-zone data is reloaded.
+     */
+    private static final Map<List<ZoneOffsetTransitionRule>, WeakReference<LastRules>> SHARED_LAST_RULES =
+                new WeakHashMap<List<ZoneOffsetTransitionRule>, WeakReference<LastRules>>(64);
+    /**
+     * The first year covered by the offset table, inclusive.
+     */
+    private static final int OFFSET_TABLE_FIRST_YEAR = yearProperty("org.threeten.bp.zone.StandardZoneRules.offsetTableFirstYear", 1970);
+    /**
+     * The last year covered by the offset table, inclusive.
+     */
+    private static final int OFFSET_TABLE_LAST_YEAR = yearProperty("org.threeten.bp.zone.StandardZoneRules.offsetTableLastYear", LAST_CACHED_YEAR);
 
     /**
      * The transitions between standard offsets (epoch seconds), sorted.
@@ -82,11 +116,16 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      */
     private final long[] savingsInstantTransitions;
     /**
-     * The transitions between local date-times, sorted.
+     * The transitions between local date-times as seconds from the local epoch, sorted.
      * This is a paired array, where the first entry is the start of the transition
      * and the second entry is the end of the transition.
      */
-    private final LocalDateTime[] savingsLocalTransitions;
+    private final long[] savingsLocalEpochSeconds;
+    /**
+     * The historic transitions, created lazily as each gap or overlap is queried.
+     * This is parallel to {@code savingsInstantTransitions}.
+     */
+    private final ZoneOffsetTransition[] savingsTransitionCache;
     /**
      * The wall offsets.
      */
@@ -96,10 +135,14 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      */
     private final ZoneOffsetTransitionRule[] lastRules;
     /**
-     * The map of recent transitions.
+     * The last rules and the cache of recent transitions, shared with other regions
+     * that have the same last rules.
+     */
+    private final LastRules sharedLastRules;
+    /**
+     * The table of offsets for the common range of years, created lazily.
      */
-    private final ConcurrentMap<Integer, ZoneOffsetTransition[]> lastRulesCache =
-                new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>();
+    private transient volatile OffsetTable offsetTable;
 
     /**
      * Creates an instance.
@@ -127,34 +170,25 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             this.standardOffsets[i + 1] = standardOffsetTransitionList.get(i).getOffsetAfter();
         }
 
-        // convert savings transitions to locals
-        List<LocalDateTime> localTransitionList = new ArrayList<LocalDateTime>();
-        List<ZoneOffset> localTransitionOffsetList = new ArrayList<ZoneOffset>();
-        localTransitionOffsetList.add(baseWallOffset);
-        for (ZoneOffsetTransition trans : transitionList) {
-            if (trans.isGap()) {
-                localTransitionList.add(trans.getDateTimeBefore());
-                localTransitionList.add(trans.getDateTimeAfter());
-            } else {
-                localTransitionList.add(trans.getDateTimeAfter());
-                localTransitionList.add(trans.getDateTimeBefore());
-            }
-            localTransitionOffsetList.add(trans.getOffsetAfter());
-        }
-        this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
-        this.wallOffsets = localTransitionOffsetList.toArray(new ZoneOffset[localTransitionOffsetList.size()]);
-
         // convert savings transitions to instants
         this.savingsInstantTransitions = new long[transitionList.size()];
+        this.wallOffsets = new ZoneOffset[transitionList.size() + 1];
+        this.wallOffsets[0] = baseWallOffset;
         for (int i = 0; i < transitionList.size(); i++) {
-            this.savingsInstantTransitions[i] = transitionList.get(i).getInstant().getEpochSecond();
+            this.savingsInstantTransitions[i] = transitionList.get(i).toEpochSecond();
+            this.wallOffsets[i + 1] = transitionList.get(i).getOffsetAfter();
         }
 
+        // convert savings transitions to locals
+        this.savingsLocalEpochSeconds = toLocalEpochSeconds(savingsInstantTransitions, wallOffsets);
+        this.savingsTransitionCache = new ZoneOffsetTransition[transitionList.size()];
+
         // last rules
         if (lastRules.size() > 15) {
             throw new IllegalArgumentException("Too many transition rules");
         }
-        this.lastRules = lastRules.toArray(new ZoneOffsetTransitionRule[lastRules.size()]);
+        this.sharedLastRules = LastRules.of(lastRules.toArray(new ZoneOffsetTransitionRule[lastRules.size()]));
+        this.lastRules = sharedLastRules.rules;
     }
 
     /**
@@ -178,23 +212,39 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         this.standardOffsets = standardOffsets;
         this.savingsInstantTransitions = savingsInstantTransitions;
         this.wallOffsets = wallOffsets;
-        this.lastRules = lastRules;
+        this.sharedLastRules = LastRules.of(lastRules);
+        this.lastRules = sharedLastRules.rules;
 
         // convert savings transitions to locals
-        List<LocalDateTime> localTransitionList = new ArrayList<LocalDateTime>();
-        for (int i = 0; i < savingsInstantTransitions.length; i++) {
-            ZoneOffset before = wallOffsets[i];
-            ZoneOffset after = wallOffsets[i + 1];
-            ZoneOffsetTransition trans = new ZoneOffsetTransition(savingsInstantTransitions[i], before, after);
-            if (trans.isGap()) {
-                localTransitionList.add(trans.getDateTimeBefore());
-                localTransitionList.add(trans.getDateTimeAfter());
+        this.savingsLocalEpochSeconds = toLocalEpochSeconds(savingsInstantTransitions, wallOffsets);
+        this.savingsTransitionCache = new ZoneOffsetTransition[savingsInstantTransitions.length];
+    }
+
+    /**
+     * Converts the savings transitions to local transitions in seconds from the local epoch.
+     * <p>
+     * Each transition is converted to a pair, the start and end of the gap or overlap.
+     *
+     * @param instantTransitions  the savings transitions, not null
+     * @param wallOffsets  the wall offsets, not null
+     * @return the local epoch-seconds, not null
+     */
+    private static long[] toLocalEpochSeconds(long[] instantTransitions, ZoneOffset[] wallOffsets) {
+        long[] result = new long[instantTransitions.length * 2];
+        for (int i = 0; i < instantTransitions.length; i++) {
+            long localBefore = instantTransitions[i] + wallOffsets[i].getTotalSeconds();
+            long localAfter = instantTransitions[i] + wallOffsets[i + 1].getTotalSeconds();
+            if (localAfter > localBefore) {
+                // gap
+                result[i * 2] = localBefore;
+                result[i * 2 + 1] = localAfter;
             } else {
-                localTransitionList.add(trans.getDateTimeAfter());
-                localTransitionList.add(trans.getDateTimeBefore());
+                // overlap
+                result[i * 2] = localAfter;
+                result[i * 2 + 1] = localBefore;
             }
         }
-        this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
+        return result;
     }
 
     //-----------------------------------------------------------------------
@@ -268,6 +318,97 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
     }
 
+    /**
+     * Writes the state as a block of columns.
+     * <p>
+     * The block starts with four ints, the number of standard transitions, savings transitions
+     * and last rules, followed by the length of the last rules in bytes.
+     * The standard and savings transitions follow as columns of longs, then the standard
+     * and wall offsets as columns of ints, in total seconds, then the last rules.
+     * The block is padded to a multiple of eight bytes, so the columns of longs
+     * are aligned if the block is.
+     *
+     * @return the block, not null
+     * @throws IOException if an error occurs
+     */
+    byte[] writeColumns() throws IOException {
+        ByteArrayOutputStream rulesBytes = new ByteArrayOutputStream(64);
+        DataOutputStream rulesOut = new DataOutputStream(rulesBytes);
+        for (ZoneOffsetTransitionRule rule : lastRules) {
+            rule.writeExternal(rulesOut);
+        }
+        rulesOut.flush();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(baos);
+        out.writeInt(standardTransitions.length);
+        out.writeInt(savingsInstantTransitions.length);
+        out.writeInt(lastRules.length);
+        out.writeInt(rulesBytes.size());
+        for (long trans : standardTransitions) {
+            out.writeLong(trans);
+        }
+        for (long trans : savingsInstantTransitions) {
+            out.writeLong(trans);
+        }
+        for (ZoneOffset offset : standardOffsets) {
+            out.writeInt(offset.getTotalSeconds());
+        }
+        for (ZoneOffset offset : wallOffsets) {
+            out.writeInt(offset.getTotalSeconds());
+        }
+        rulesBytes.writeTo(out);
+        while (out.size() % 8 != 0) {
+            out.writeByte(0);
+        }
+        out.flush();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Reads the state from a block of columns.
+     * <p>
+     * The columns of transitions are copied directly from the buffer in bulk.
+     *
+     * @param buf  the buffer, positioned at the start of the block, not null
+     * @return the created object, not null
+     * @throws IOException if an error occurs
+     */
+    static StandardZoneRules readColumns(ByteBuffer buf) throws IOException {
+        int stdSize = buf.getInt();
+        int savSize = buf.getInt();
+        int ruleSize = buf.getInt();
+        int ruleBytes = buf.getInt();
+        if (stdSize < 0 || savSize < 0 || ruleSize < 0 || ruleSize > 15 || ruleBytes < 0 ||
+                (stdSize + savSize) * 12L + 8 + ruleBytes > buf.remaining()) {
+            throw new StreamCorruptedException("Invalid column sizes");
+        }
+        long[] stdTrans = readLongs(buf, stdSize);
+        long[] savTrans = readLongs(buf, savSize);
+        ZoneOffset[] stdOffsets = readOffsets(buf, stdSize + 1);
+        ZoneOffset[] savOffsets = readOffsets(buf, savSize + 1);
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(buf));
+        ZoneOffsetTransitionRule[] rules = new ZoneOffsetTransitionRule[ruleSize];
+        for (int i = 0; i < ruleSize; i++) {
+            rules[i] = ZoneOffsetTransitionRule.readExternal(in);
+        }
+        return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
+    }
+
+    private static long[] readLongs(ByteBuffer buf, int size) {
+        long[] result = new long[size];
+        buf.asLongBuffer().get(result);
+        buf.position(buf.position() + size * 8);
+        return result;
+    }
+
+    private static ZoneOffset[] readOffsets(ByteBuffer buf, int size) {
+        ZoneOffset[] result = new ZoneOffset[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = ZoneOffset.ofTotalSeconds(buf.getInt());
+        }
+        return result;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public boolean isFixedOffset() {
@@ -277,8 +418,29 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getOffset(Instant instant) {
+        if (savingsInstantTransitions.length == 0) {
+            return wallOffsets[0];
+        }
         long epochSec = instant.getEpochSecond();
+        OffsetTable table = offsetTable;
+        if (table == null) {
+            if (OFFSET_TABLE_FIRST_YEAR > OFFSET_TABLE_LAST_YEAR) {
+                return findOffset(epochSec);
+            }
+            table = new OffsetTable(this, OFFSET_TABLE_FIRST_YEAR, OFFSET_TABLE_LAST_YEAR);
+            offsetTable = table;
+        }
+        ZoneOffset offset = table.getOffset(epochSec);
+        return (offset != null ? offset : findOffset(epochSec));
+    }
 
+    /**
+     * Finds the offset for the epoch-second without using the offset table.
+     *
+     * @param epochSec  the epoch-second
+     * @return the offset, not null
+     */
+    private ZoneOffset findOffset(long epochSec) {
         // check if using last rules
         if (lastRules.length > 0 &&
                 epochSec > savingsInstantTransitions[savingsInstantTransitions.length - 1]) {
@@ -315,12 +477,17 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
 
     @Override
     public List<ZoneOffset> getValidOffsets(LocalDateTime localDateTime) {
-        // should probably be optimized
         Object info = getOffsetInfo(localDateTime);
         if (info instanceof ZoneOffsetTransition) {
             return ((ZoneOffsetTransition) info).getValidOffsets();
         }
-        return Collections.singletonList((ZoneOffset) info);
+        ZoneOffset offset = (ZoneOffset) info;
+        List<ZoneOffset> list = SINGLE_OFFSET_LISTS.get(offset);
+        if (list == null) {
+            SINGLE_OFFSET_LISTS.putIfAbsent(offset, Collections.singletonList(offset));
+            list = SINGLE_OFFSET_LISTS.get(offset);
+        }
+        return list;
     }
 
     @Override
@@ -330,47 +497,54 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     }
 
     private Object getOffsetInfo(LocalDateTime dt) {
+        // the local transitions have no nanosecond part, thus comparing
+        // seconds is sufficient to determine if dt is before a transition
+        long localSecond = dt.toEpochSecond(ZoneOffset.UTC);
+
         // check if using last rules
-        if (lastRules.length > 0 &&
-                dt.isAfter(savingsLocalTransitions[savingsLocalTransitions.length - 1])) {
-            ZoneOffsetTransition[] transArray = findTransitionArray(dt.getYear());
-            Object info = null;
-            for (ZoneOffsetTransition trans : transArray) {
-                info = findOffsetInfo(dt, trans);
-                if (info instanceof ZoneOffsetTransition || info.equals(trans.getOffsetBefore())) {
-                    return info;
+        if (lastRules.length > 0) {
+            long lastLocal = savingsLocalEpochSeconds[savingsLocalEpochSeconds.length - 1];
+            if (localSecond > lastLocal || (localSecond == lastLocal && dt.getNano() > 0)) {
+                ZoneOffsetTransition[] transArray = findTransitionArray(dt.getYear());
+                Object info = null;
+                for (ZoneOffsetTransition trans : transArray) {
+                    info = findOffsetInfo(localSecond, trans);
+                    if (info instanceof ZoneOffsetTransition || info.equals(trans.getOffsetBefore())) {
+                        return info;
+                    }
                 }
+                return info;
             }
-            return info;
         }
 
-        // using historic rules
-        int index  = Arrays.binarySearch(savingsLocalTransitions, dt);
+        // using historic rules, finding the last local transition at or before dt
+        // which handles an overlap immediately following a gap
+        long[] localSeconds = savingsLocalEpochSeconds;
+        int low = 0;
+        int high = localSeconds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (localSeconds[mid] <= localSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int index = low - 1;
         if (index == -1) {
             // before first transition
             return wallOffsets[0];
         }
-        if (index < 0) {
-            // switch negative insert position to start of matched range
-            index = -index - 2;
-        } else if (index < savingsLocalTransitions.length - 1 &&
-                savingsLocalTransitions[index].equals(savingsLocalTransitions[index + 1])) {
-            // handle overlap immediately following gap
-            index++;
-        }
         if ((index & 1) == 0) {
             // gap or overlap
-            LocalDateTime dtBefore = savingsLocalTransitions[index];
-            LocalDateTime dtAfter = savingsLocalTransitions[index + 1];
-            ZoneOffset offsetBefore = wallOffsets[index / 2];
-            ZoneOffset offsetAfter = wallOffsets[index / 2 + 1];
-            if (offsetAfter.getTotalSeconds() > offsetBefore.getTotalSeconds()) {
-                // gap
-                return new ZoneOffsetTransition(dtBefore, offsetBefore, offsetAfter);
-            } else {
-                // overlap
-                return new ZoneOffsetTransition(dtAfter, offsetBefore, offsetAfter);
+            int transIndex = index / 2;
+            ZoneOffsetTransition trans = savingsTransitionCache[transIndex];
+            if (trans == null) {
+                trans = new ZoneOffsetTransition(savingsInstantTransitions[transIndex], wallOffsets[transIndex], wallOffsets[transIndex + 1]);
+                // transitions are immutable, so may be safely published by a race
+                savingsTransitionCache[transIndex] = trans;
             }
+            return trans;
         } else {
             // normal (neither gap or overlap)
             return wallOffsets[index / 2 + 1];
@@ -380,26 +554,28 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     /**
      * Finds the offset info for a local date-time and transition.
      *
-     * @param dt  the date-time, not null
+     * @param localSecond  the date-time as seconds from the local epoch, rounded down
      * @param trans  the transition, not null
      * @return the offset info, not null
      */
-    private Object findOffsetInfo(LocalDateTime dt, ZoneOffsetTransition trans) {
-        LocalDateTime localTransition = trans.getDateTimeBefore();
+    private Object findOffsetInfo(long localSecond, ZoneOffsetTransition trans) {
+        long epochSecond = trans.toEpochSecond();
+        long localBefore = epochSecond + trans.getOffsetBefore().getTotalSeconds();
+        long localAfter = epochSecond + trans.getOffsetAfter().getTotalSeconds();
         if (trans.isGap()) {
-            if (dt.isBefore(localTransition)) {
+            if (localSecond < localBefore) {
                 return trans.getOffsetBefore();
             }
-            if (dt.isBefore(trans.getDateTimeAfter())) {
+            if (localSecond < localAfter) {
                 return trans;
             } else {
                 return trans.getOffsetAfter();
             }
         } else {
-            if (dt.isBefore(localTransition) == false) {
+            if (localSecond >= localBefore) {
                 return trans.getOffsetAfter();
             }
-            if (dt.isBefore(trans.getDateTimeAfter())) {
+            if (localSecond < localAfter) {
                 return trans.getOffsetBefore();
             } else {
                 return trans;
@@ -409,7 +585,11 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
 
     @Override
     public boolean isValidOffset(LocalDateTime localDateTime, ZoneOffset offset) {
-        return getValidOffsets(localDateTime).contains(offset);
+        Object info = getOffsetInfo(localDateTime);
+        if (info instanceof ZoneOffsetTransition) {
+            return ((ZoneOffsetTransition) info).isValidOffset(offset);
+        }
+        return info.equals(offset);
     }
 
     //-----------------------------------------------------------------------
@@ -420,8 +600,14 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * @return the transition array, not null
      */
     private ZoneOffsetTransition[] findTransitionArray(int year) {
-        Integer yearObj = year;  // should use Year class, but this saves a class load
-        ZoneOffsetTransition[] transArray = lastRulesCache.get(yearObj);
+        LastRules shared = sharedLastRules;
+        boolean useArray = (year >= FIRST_ARRAY_CACHED_YEAR && year < LAST_CACHED_YEAR);
+        ZoneOffsetTransition[] transArray;
+        if (useArray) {
+            transArray = shared.arrayCache.get(year - FIRST_ARRAY_CACHED_YEAR);
+        } else {
+            transArray = shared.cache.get(year);  // should use Year class, but this saves a class load
+        }
         if (transArray != null) {
             return transArray;
         }
@@ -430,8 +616,10 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         for (int i = 0; i < ruleArray.length; i++) {
             transArray[i] = ruleArray[i].createTransition(year);
         }
-        if (year < LAST_CACHED_YEAR) {
-            lastRulesCache.putIfAbsent(yearObj, transArray);
+        if (useArray) {
+            shared.arrayCache.compareAndSet(year - FIRST_ARRAY_CACHED_YEAR, null, transArray);
+        } else if (year < LAST_CACHED_YEAR) {
+            shared.cache.putIfAbsent(year, transArray);
         }
         return transArray;
     }
@@ -550,6 +738,30 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return LocalDate.ofEpochDay(localEpochDay).getYear();
     }
 
+    /**
+     * Reads the year bound of the offset table from a system property.
+     *
+     * @param name  the property name, not null
+     * @param defaultYear  the year to use if the property is absent or invalid
+     * @return the year
+     */
+    private static int yearProperty(String name, int defaultYear) {
+        try {
+            String value = System.getProperty(name);
+            if (value != null) {
+                int year = Integer.parseInt(value.trim());
+                if (year >= OffsetTable.MIN_YEAR && year <= OffsetTable.MAX_YEAR) {
+                    return year;
+                }
+            }
+        } catch (SecurityException ex) {
+            // use default
+        } catch (NumberFormatException ex) {
+            // use default
+        }
+        return defaultYear;
+    }
+
     //-------------------------------------------------------------------------
     @Override
     public List<ZoneOffsetTransition> getTransitions() {
@@ -605,4 +817,184 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return "StandardZoneRules[currentStandardOffset=" + standardOffsets[standardOffsets.length - 1] + "]";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * A set of last rules, together with the transitions they create by year.
+     * <p>
+     * Many regions have the same last rules, thus a single instance is shared
+     * between them, and the transitions for each year are created and cached once.
+     */
+    private static final class LastRules {
+        /**
+         * The last rules, not to be altered.
+         */
+        final ZoneOffsetTransitionRule[] rules;
+        /**
+         * The rules as a list, the key in the shared map, which is kept alive by this instance.
+         */
+        private final List<ZoneOffsetTransitionRule> key;
+        /**
+         * The map of recent transitions, for years outside the array.
+         */
+        final ConcurrentMap<Integer, ZoneOffsetTransition[]> cache;
+        /**
+         * The recent transitions, indexed by year from {@code FIRST_ARRAY_CACHED_YEAR}, avoiding boxing.
+         */
+        final AtomicReferenceArray<ZoneOffsetTransition[]> arrayCache;
+
+        private LastRules(ZoneOffsetTransitionRule[] rules) {
+            this.rules = rules;
+            this.key = Arrays.asList(rules);
+            boolean empty = (rules.length == 0);
+            this.cache = (empty ? null : new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>());
+            this.arrayCache = (empty ? null : new AtomicReferenceArray<ZoneOffsetTransition[]>(LAST_CACHED_YEAR - FIRST_ARRAY_CACHED_YEAR));
+        }
+
+        /**
+         * Obtains the shared instance for the rules.
+         *
+         * @param rules  the last rules, not altered by the caller after this call, not null
+         * @return the shared instance, not null
+         */
+        static LastRules of(ZoneOffsetTransitionRule[] rules) {
+            List<ZoneOffsetTransitionRule> key = Arrays.asList(rules);
+            synchronized (SHARED_LAST_RULES) {
+                WeakReference<LastRules> ref = SHARED_LAST_RULES.get(key);
+                LastRules shared = (ref != null ? ref.get() : null);
+                if (shared == null) {
+                    shared = new LastRules(rules);
+                    SHARED_LAST_RULES.put(shared.key, new WeakReference<LastRules>(shared));
+                }
+                return shared;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A dense table of the offsets in force over a range of years.
+     * <p>
+     * The range is split into buckets of a fixed number of seconds, slightly longer than a year,
+     * each of which refers to the transitions within it. Finding an offset is thus a division
+     * followed by a scan of the few transitions in a single bucket, without boxing or searching.
+     * <p>
+     * The table is built using the same search as the rules, thus the result is identical.
+     */
+    private static final class OffsetTable {
+        /**
+         * The minimum year that may be used for a bound.
+         */
+        static final int MIN_YEAR = 1800;
+        /**
+         * The maximum year that may be used for a bound.
+         */
+        static final int MAX_YEAR = 2500;
+        /**
+         * The shift to convert seconds to a bucket, where 2^25 seconds is just over a year.
+         */
+        private static final int BUCKET_SHIFT = 25;
+
+        /**
+         * The first epoch-second covered, inclusive.
+         */
+        private final long start;
+        /**
+         * The last epoch-second covered, exclusive.
+         */
+        private final long end;
+        /**
+         * The epoch-seconds at which the offset changes, sorted.
+         */
+        private final long[] transitions;
+        /**
+         * The offsets, where the offset at index {@code i + 1} applies from transition {@code i}.
+         */
+        private final ZoneOffset[] offsets;
+        /**
+         * The index of the first transition in each bucket, with a final entry for the total.
+         */
+        private final int[] bucketIndices;
+
+        /**
+         * Creates the table for the rules.
+         *
+         * @param rules  the rules, not null
+         * @param firstYear  the first year to cover, inclusive
+         * @param lastYear  the last year to cover, inclusive
+         */
+        OffsetTable(StandardZoneRules rules, int firstYear, int lastYear) {
+            start = LocalDate.of(firstYear, 1, 1).toEpochDay() * 86400L;
+            end = LocalDate.of(lastYear + 1, 1, 1).toEpochDay() * 86400L;
+
+            // collect every point at which the offset might change
+            long[] historic = rules.savingsInstantTransitions;
+            long lastHistoric = historic[historic.length - 1];
+            List<Long> candidates = new ArrayList<Long>();
+            for (long trans : historic) {
+                candidates.add(trans);
+            }
+            if (rules.lastRules.length > 0 && lastHistoric < end) {
+                ZoneOffset lastHistoricOffset = rules.wallOffsets[rules.wallOffsets.length - 1];
+                int fromYear = rules.findYear(Math.max(lastHistoric, start), lastHistoricOffset);
+                for (int year = fromYear; year <= lastYear + 1; year++) {
+                    candidates.add(LocalDate.of(year, 1, 1).toEpochDay() * 86400L - lastHistoricOffset.getTotalSeconds());
+                    for (ZoneOffsetTransition trans : rules.findTransitionArray(year)) {
+                        candidates.add(trans.toEpochSecond());
+                    }
+                }
+            }
+            Collections.sort(candidates);
+
+            // keep those within the range that change the offset
+            long[] trans = new long[candidates.size()];
+            ZoneOffset[] offs = new ZoneOffset[candidates.size() + 1];
+            offs[0] = rules.findOffset(start);
+            int count = 0;
+            for (Long candidate : candidates) {
+                long epochSec = candidate;
+                if (epochSec > start && epochSec < end) {
+                    ZoneOffset offset = rules.findOffset(epochSec);
+                    if (offset.equals(offs[count]) == false) {
+                        trans[count] = epochSec;
+                        offs[++count] = offset;
+                    }
+                }
+            }
+            transitions = Arrays.copyOf(trans, count);
+            offsets = Arrays.copyOf(offs, count + 1);
+
+            // index the transitions by bucket
+            int buckets = (int) ((end - start - 1) >>> BUCKET_SHIFT) + 1;
+            bucketIndices = new int[buckets + 1];
+            int index = 0;
+            for (int b = 0; b <= buckets; b++) {
+                long bucketStart = start + ((long) b << BUCKET_SHIFT);
+                while (index < count && transitions[index] < bucketStart) {
+                    index++;
+                }
+                bucketIndices[b] = index;
+            }
+            bucketIndices[buckets] = count;
+        }
+
+        /**
+         * Gets the offset at the epoch-second.
+         *
+         * @param epochSec  the epoch-second
+         * @return the offset, null if outside the range of the table
+         */
+        ZoneOffset getOffset(long epochSec) {
+            if (epochSec < start || epochSec >= end) {
+                return null;
+            }
+            int bucket = (int) ((epochSec - start) >>> BUCKET_SHIFT);
+            int index = bucketIndices[bucket];
+            int bucketEnd = bucketIndices[bucket + 1];
+            while (index < bucketEnd && transitions[index] <= epochSec) {
+                index++;
+            }
+            return offsets[index];
+        }
+    }
+
 }
@@ -55,6 +55,12 @@ import java.util.SortedMap;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarOutputStream;
 import java.util.zip.ZipEntry;
 
@@ -108,7 +114,10 @@ final class TzdbZoneRulesCompiler {
         File baseSrcDir = null;
         File dstDir = null;
         boolean unpacked = false;
+        boolean parallel = false;
+        boolean incremental = false;
         boolean verbose = false;
+        int format = 0;
 
         // parse options
         int i;
@@ -132,11 +141,33 @@ final class TzdbZoneRulesCompiler {
                     version = args[i];
                     continue;
                 }
+            } else if ("-format".equals(arg)) {
+                if (format == 0 && ++i < args.length) {
+                    try {
+                        format = Integer.parseInt(args[i]);
+                    } catch (NumberFormatException ex) {
+                        format = -1;
+                    }
+                    if (format == TzdbZoneRulesProvider.FORMAT_SERIALIZED || format == TzdbZoneRulesProvider.FORMAT_COLUMNAR) {
+                        continue;
+                    }
+                    System.out.println("Unrecognised format: " + args[i]);
+                }
             } else if ("-unpacked".equals(arg)) {
                 if (unpacked == false) {
                     unpacked = true;
                     continue;
                 }
+            } else if ("-parallel".equals(arg)) {
+                if (parallel == false) {
+                    parallel = true;
+                    continue;
+                }
+            } else if ("-incremental".equals(arg)) {
+                if (incremental == false) {
+                    incremental = true;
+                    continue;
+                }
             } else if ("-verbose".equals(arg)) {
                 if (verbose == false) {
                     verbose = true;
@@ -200,7 +231,8 @@ final class TzdbZoneRulesCompiler {
             System.out.println("Destination is not a directory: " + dstDir);
             return;
         }
-        process(srcDirs, srcFileNames, dstDir, unpacked, verbose);
+        format = (format != 0 ? format : TzdbZoneRulesProvider.FORMAT_SERIALIZED);
+        process(srcDirs, srcFileNames, dstDir, unpacked, format, parallel, incremental, verbose);
     }
 
     /**
@@ -213,6 +245,9 @@ final class TzdbZoneRulesCompiler {
         System.out.println("   -dstdir <directory>   Where to output generated files (default srcdir)");
         System.out.println("   -version <version>    Specify the version, such as 2009a (optional)");
         System.out.println("   -unpacked             Generate dat files without jar files");
+        System.out.println("   -format <format>      The format of the dat file, 1 serialized (default) or 2 columnar");
+        System.out.println("   -parallel             Build the zones of each version using all available processors");
+        System.out.println("   -incremental          Reuse the rules of zones whose source lines are unchanged from an earlier version");
         System.out.println("   -help                 Print this usage message");
         System.out.println("   -verbose              Output verbose information during compilation");
         System.out.println(" There must be one directory for each version in srcdir");
@@ -221,14 +256,36 @@ final class TzdbZoneRulesCompiler {
         System.out.println(" Directories must match the regex [12][0-9][0-9][0-9][A-Za-z0-9._-]+");
         System.out.println(" There will be one jar file for each version and one combined jar in dstdir");
         System.out.println(" If the version is specified, only that version is processed");
+        System.out.println(" The columnar format is faster to load, but cannot be read by earlier releases");
     }
 
     /**
      * Process to create the jar files.
      */
-    private static void process(List<File> srcDirs, List<String> srcFileNames, File dstDir, boolean unpacked, boolean verbose) {
+    private static void process(List<File> srcDirs, List<String> srcFileNames, File dstDir, boolean unpacked, int format,
+            boolean parallel, boolean incremental, boolean verbose) {
+        ExecutorService executor = null;
+        if (parallel) {
+            executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+        try {
+            process(srcDirs, srcFileNames, dstDir, unpacked, format, executor, incremental, verbose);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Process to create the jar files, using the executor if not null.
+     */
+    private static void process(List<File> srcDirs, List<String> srcFileNames, File dstDir, boolean unpacked, int format,
+            ExecutorService executor, boolean incremental, boolean verbose) {
         // build actual jar files
-        Map<Object, Object> deduplicateMap = new HashMap<Object, Object>();
+        Map<Object, Object> deduplicateMap = (executor != null ?
+                new ConcurrentHashMap<Object, Object>() : new HashMap<Object, Object>());
+        Map<String, ZoneRules> buildCache = (incremental ? new ConcurrentHashMap<String, ZoneRules>() : null);
         Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
         Set<String> allRegionIds = new TreeSet<String>();
         Set<ZoneRules> allRules = new HashSet<ZoneRules>();
@@ -256,6 +313,8 @@ final class TzdbZoneRulesCompiler {
             String loopVersion = srcDir.getName();
             TzdbZoneRulesCompiler compiler = new TzdbZoneRulesCompiler(loopVersion, srcFiles, leapSecondsFile, verbose);
             compiler.setDeduplicateMap(deduplicateMap);
+            compiler.setExecutor(executor);
+            compiler.setBuildCache(buildCache);
             try {
                 // compile
                 compiler.compile();
@@ -268,7 +327,7 @@ final class TzdbZoneRulesCompiler {
                     if (verbose) {
                         System.out.println("Outputting file: " + dstFile);
                     }
-                    outputFile(dstFile, loopVersion, builtZones, parsedLeapSeconds);
+                    outputFile(dstFile, loopVersion, builtZones, parsedLeapSeconds, format);
                 }
 
                 // create totals
@@ -296,13 +355,13 @@ final class TzdbZoneRulesCompiler {
             if (verbose) {
                 System.out.println("Outputting combined files: " + dstDir);
             }
-            outputFilesDat(dstDir, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
+            outputFilesDat(dstDir, allBuiltZones, allRegionIds, allRules, bestLeapSeconds, format);
         } else {
             File dstFile = new File(dstDir, "threeten-TZDB-all.jar");
             if (verbose) {
                 System.out.println("Outputting combined file: " + dstFile);
             }
-            outputFile(dstFile, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
+            outputFile(dstFile, allBuiltZones, allRegionIds, allRules, bestLeapSeconds, format);
         }
     }
 
@@ -310,14 +369,14 @@ final class TzdbZoneRulesCompiler {
      * Outputs the DAT files.
      */
     private static void outputFilesDat(File dstDir, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
-            Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds) {
+            Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds, int format) {
         File tzdbFile = new File(dstDir, "TZDB.dat");
         tzdbFile.delete();
         try {
             FileOutputStream fos = null;
             try {
                 fos = new FileOutputStream(tzdbFile);
-                outputTzdbDat(fos, allBuiltZones, allRegionIds, allRules);
+                outputTzdbDat(fos, allBuiltZones, allRegionIds, allRules, format);
             } finally {
                 if (fos != null) {
                     fos.close();
@@ -333,23 +392,24 @@ final class TzdbZoneRulesCompiler {
     /**
      * Outputs the file.
      */
-    private static void outputFile(File dstFile, String version, SortedMap<String, ZoneRules> builtZones, SortedMap<LocalDate, Byte> leapSeconds) {
+    private static void outputFile(File dstFile, String version, SortedMap<String, ZoneRules> builtZones,
+            SortedMap<LocalDate, Byte> leapSeconds, int format) {
         Map<String, SortedMap<String, ZoneRules>> loopAllBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
         loopAllBuiltZones.put(version, builtZones);
         Set<String> loopAllRegionIds = new TreeSet<String>(builtZones.keySet());
         Set<ZoneRules> loopAllRules = new HashSet<ZoneRules>(builtZones.values());
-        outputFile(dstFile, loopAllBuiltZones, loopAllRegionIds, loopAllRules, leapSeconds);
+        outputFile(dstFile, loopAllBuiltZones, loopAllRegionIds, loopAllRules, leapSeconds, format);
     }
 
     /**
      * Outputs the file.
      */
     private static void outputFile(File dstFile, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
-            Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds) {
+            Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds, int format) {
         JarOutputStream jos = null;
         try {
             jos = new JarOutputStream(new FileOutputStream(dstFile));
-            outputTzdbEntry(jos, allBuiltZones, allRegionIds, allRules);
+            outputTzdbEntry(jos, allBuiltZones, allRegionIds, allRules, format);
         } catch (Exception ex) {
             System.out.println("Failed: " + ex.toString());
             ex.printStackTrace();
@@ -370,11 +430,11 @@ final class TzdbZoneRulesCompiler {
      */
     private static void outputTzdbEntry(
             JarOutputStream jos, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
-            Set<String> allRegionIds, Set<ZoneRules> allRules) {
+            Set<String> allRegionIds, Set<ZoneRules> allRules, int format) {
         // this format is not publicly specified
         try {
             jos.putNextEntry(new ZipEntry("org/threeten/bp/TZDB.dat"));
-            outputTzdbDat(jos, allBuiltZones, allRegionIds, allRules);
+            outputTzdbDat(jos, allBuiltZones, allRegionIds, allRules, format);
             jos.closeEntry();
         } catch (Exception ex) {
             System.out.println("Failed: " + ex.toString());
@@ -388,27 +448,18 @@ final class TzdbZoneRulesCompiler {
      */
     private static void outputTzdbDat(OutputStream jos,
             Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
-            Set<String> allRegionIds, Set<ZoneRules> allRules) throws IOException {
+            Set<String> allRegionIds, Set<ZoneRules> allRules, int format) throws IOException {
         DataOutputStream out = new DataOutputStream(jos);
-
-        // file version
-        out.writeByte(1);
-        // group
-        out.writeUTF("TZDB");
-        // versions
         String[] versionArray = allBuiltZones.keySet().toArray(new String[allBuiltZones.size()]);
-        out.writeShort(versionArray.length);
-        for (String version : versionArray) {
-            out.writeUTF(version);
-        }
-        // regions
         String[] regionArray = allRegionIds.toArray(new String[allRegionIds.size()]);
-        out.writeShort(regionArray.length);
-        for (String regionId : regionArray) {
-            out.writeUTF(regionId);
+        List<ZoneRules> rulesList = new ArrayList<ZoneRules>(allRules);
+        if (format == TzdbZoneRulesProvider.FORMAT_COLUMNAR) {
+            outputTzdbDatColumnar(out, allBuiltZones, versionArray, regionArray, rulesList);
+            return;
         }
+
+        outputTzdbHeader(out, TzdbZoneRulesProvider.FORMAT_SERIALIZED, versionArray, regionArray);
         // rules
-        List<ZoneRules> rulesList = new ArrayList<ZoneRules>(allRules);
         out.writeShort(rulesList.size());
         ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
         for (ZoneRules rules : rulesList) {
@@ -420,12 +471,100 @@ final class TzdbZoneRulesCompiler {
             out.writeShort(bytes.length);
             out.write(bytes);
         }
+        outputTzdbLinks(out, allBuiltZones, regionArray, rulesList);
+        out.flush();
+    }
+
+    /**
+     * Outputs the timezone DAT file in the columnar format.
+     * <p>
+     * The index is followed by a block for each set of rules, each aligned to eight bytes.
+     * The index holds the position of each block in the file.
+     */
+    private static void outputTzdbDatColumnar(DataOutputStream out,
+            Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            String[] versionArray, String[] regionArray, List<ZoneRules> rulesList) throws IOException {
+        List<byte[]> blocks = new ArrayList<byte[]>(rulesList.size());
+        for (ZoneRules rules : rulesList) {
+            if (rules instanceof StandardZoneRules == false) {
+                throw new IllegalArgumentException("Columnar format requires StandardZoneRules: " + rules);
+            }
+            blocks.add(((StandardZoneRules) rules).writeColumns());
+        }
+        // the size of the index does not depend on the positions, so find it first
+        int[] positions = new int[blocks.size()];
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(16384);
+        outputTzdbColumnarIndex(new DataOutputStream(baos), allBuiltZones, versionArray, regionArray, rulesList, positions);
+        int position = (baos.size() + 7) & ~7;
+        for (int i = 0; i < blocks.size(); i++) {
+            positions[i] = position;
+            position += blocks.get(i).length;
+        }
+        baos.reset();
+        outputTzdbColumnarIndex(new DataOutputStream(baos), allBuiltZones, versionArray, regionArray, rulesList, positions);
+        while (baos.size() % 8 != 0) {
+            baos.write(0);
+        }
+        baos.writeTo(out);
+        for (byte[] block : blocks) {
+            out.write(block);
+        }
+        out.flush();
+    }
+
+    /**
+     * Outputs the index of the columnar format.
+     */
+    private static void outputTzdbColumnarIndex(DataOutputStream out,
+            Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            String[] versionArray, String[] regionArray, List<ZoneRules> rulesList, int[] positions) throws IOException {
+        outputTzdbHeader(out, TzdbZoneRulesProvider.FORMAT_COLUMNAR, versionArray, regionArray);
+        // rules
+        out.writeShort(rulesList.size());
+        for (int position : positions) {
+            out.writeInt(position);
+        }
+        outputTzdbLinks(out, allBuiltZones, regionArray, rulesList);
+        out.flush();
+    }
+
+    /**
+     * Outputs the header, common to all formats.
+     */
+    private static void outputTzdbHeader(DataOutputStream out, int format,
+            String[] versionArray, String[] regionArray) throws IOException {
+        // file version
+        out.writeByte(format);
+        // group
+        out.writeUTF("TZDB");
+        // versions
+        out.writeShort(versionArray.length);
+        for (String version : versionArray) {
+            out.writeUTF(version);
+        }
+        // regions
+        out.writeShort(regionArray.length);
+        for (String regionId : regionArray) {
+            out.writeUTF(regionId);
+        }
+    }
+
+    /**
+     * Outputs the links between version, region and rules, common to all formats.
+     */
+    private static void outputTzdbLinks(DataOutputStream out,
+            Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            String[] regionArray, List<ZoneRules> rulesList) throws IOException {
+        Map<ZoneRules, Integer> rulesIndices = new HashMap<ZoneRules, Integer>();
+        for (int i = 0; i < rulesList.size(); i++) {
+            rulesIndices.put(rulesList.get(i), i);
+        }
         // link version-region-rules
         for (String version : allBuiltZones.keySet()) {
             out.writeShort(allBuiltZones.get(version).size());
             for (Map.Entry<String, ZoneRules> entry : allBuiltZones.get(version).entrySet()) {
                  int regionIndex = Arrays.binarySearch(regionArray, entry.getKey());
-                 int rulesIndex = rulesList.indexOf(entry.getValue());
+                 int rulesIndex = rulesIndices.get(entry.getValue());
                  out.writeShort(regionIndex);
                  out.writeShort(rulesIndex);
             }
@@ -444,6 +583,10 @@ final class TzdbZoneRulesCompiler {
     private final SortedMap<String, ZoneRules> builtZones = new TreeMap<String, ZoneRules>();
     /** A map to deduplicate object instances. */
     private Map<Object, Object> deduplicateMap = new HashMap<Object, Object>();
+    /** The executor to build zones with, null to build them in the calling thread. */
+    private ExecutorService executor;
+    /** The rules already built keyed by their source lines, null if not reusing rules. */
+    private Map<String, ZoneRules> buildCache;
     /** Sorted collection of LeapSecondRules. */
     private final SortedMap<LocalDate, Byte> leapSeconds = new TreeMap<LocalDate, Byte>();
 
@@ -521,6 +664,31 @@ final class TzdbZoneRulesCompiler {
         this.deduplicateMap = deduplicateMap;
     }
 
+    /**
+     * Sets the executor used to build the zones.
+     * <p>
+     * The deduplication map must be thread-safe if an executor is used.
+     *
+     * @param executor  the executor to build zones with, null to build in the calling thread
+     */
+    void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the cache of rules already built.
+     * <p>
+     * The rules of a zone are determined entirely by the source lines of the zone and of
+     * the rules it refers to. Sharing the cache between compilers of different versions
+     * allows the rules of unchanged zones to be reused rather than built again.
+     * The cache must be thread-safe if an executor is used.
+     *
+     * @param buildCache  the cache keyed by source lines, null to always build
+     */
+    void setBuildCache(Map<String, ZoneRules> buildCache) {
+        this.buildCache = buildCache;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Parses the source files.
@@ -649,7 +817,7 @@ final class TzdbZoneRulesCompiler {
                 }
                 StringTokenizer st = new StringTokenizer(line, " \t");
                 if (openZone != null && Character.isWhitespace(line.charAt(0)) && st.hasMoreTokens()) {
-                    if (parseZoneLine(st, openZone)) {
+                    if (parseZoneLine(st, openZone, line)) {
                         openZone = null;
                     }
                 } else {
@@ -662,7 +830,7 @@ final class TzdbZoneRulesCompiler {
                             }
                             openZone = new ArrayList<TZDBZone>();
                             zones.put(st.nextToken(), openZone);
-                            if (parseZoneLine(st, openZone)) {
+                            if (parseZoneLine(st, openZone, line)) {
                                 openZone = null;
                             }
                         } else {
@@ -672,7 +840,7 @@ final class TzdbZoneRulesCompiler {
                                     printVerbose("Invalid Rule line in file: " + file + ", line: " + line);
                                     throw new IllegalArgumentException("Invalid Rule line");
                                 }
-                                parseRuleLine(st);
+                                parseRuleLine(st, line);
 
                             } else if (first.equals("Link")) {
                                 if (st.countTokens() < 2) {
@@ -703,9 +871,11 @@ final class TzdbZoneRulesCompiler {
      * Parses a Rule line.
      *
      * @param st  the tokenizer, not null
+     * @param line  the source line, not null
      */
-    private void parseRuleLine(StringTokenizer st) {
+    private void parseRuleLine(StringTokenizer st, String line) {
         TZDBRule rule = new TZDBRule();
+        rule.source = line.trim();
         String name = st.nextToken();
         if (rules.containsKey(name) == false) {
             rules.put(name, new ArrayList<TZDBRule>());
@@ -718,6 +888,7 @@ final class TzdbZoneRulesCompiler {
         }
         parseOptional(st.nextToken());  // type is unused
         parseMonthDayTime(st, rule);
+        rule.adjustToFowards(2004);  // irrelevant, treat as leap year
         rule.savingsAmount = parsePeriod(st.nextToken());
         rule.text = parseOptional(st.nextToken());
     }
@@ -726,10 +897,12 @@ final class TzdbZoneRulesCompiler {
      * Parses a Zone line.
      *
      * @param st  the tokenizer, not null
+     * @param line  the source line, not null
      * @return true if the zone is complete
      */
-    private boolean parseZoneLine(StringTokenizer st, List<TZDBZone> zoneList) {
+    private boolean parseZoneLine(StringTokenizer st, List<TZDBZone> zoneList, String line) {
         TZDBZone zone = new TZDBZone();
+        zone.source = line.trim();
         zoneList.add(zone);
         zone.standardOffset = parseOffset(st.nextToken());
         String savingsRule = parseOptional(st.nextToken());
@@ -899,16 +1072,30 @@ final class TzdbZoneRulesCompiler {
      */
     private void buildZoneRules() throws Exception {
         // build zones
-        for (String zoneId : zones.keySet()) {
-            printVerbose("Building zone " + zoneId);
-            zoneId = deduplicate(zoneId);
-            List<TZDBZone> tzdbZones = zones.get(zoneId);
-            ZoneRulesBuilder bld = new ZoneRulesBuilder();
-            for (TZDBZone tzdbZone : tzdbZones) {
-                bld = tzdbZone.addToBuilder(bld, rules);
+        List<String> zoneIds = new ArrayList<String>(zones.keySet());
+        List<Callable<ZoneRules>> tasks = new ArrayList<Callable<ZoneRules>>(zoneIds.size());
+        for (final String zoneId : zoneIds) {
+            tasks.add(new Callable<ZoneRules>() {
+                @Override
+                public ZoneRules call() throws Exception {
+                    return buildZone(zoneId);
+                }
+            });
+        }
+        if (executor == null) {
+            for (int i = 0; i < zoneIds.size(); i++) {
+                builtZones.put(deduplicate(zoneIds.get(i)), tasks.get(i).call());
+            }
+        } else {
+            List<Future<ZoneRules>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < zoneIds.size(); i++) {
+                try {
+                    builtZones.put(deduplicate(zoneIds.get(i)), results.get(i).get());
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    throw (cause instanceof Exception ? (Exception) cause : ex);
+                }
             }
-            ZoneRules buildRules = bld.toRules(zoneId, deduplicateMap);
-            builtZones.put(zoneId, deduplicate(buildRules));
         }
 
         // build aliases
@@ -936,6 +1123,67 @@ final class TzdbZoneRulesCompiler {
         builtZones.remove("GMT-0");
     }
 
+    /**
+     * Builds the rules of a single zone.
+     * <p>
+     * This may be called concurrently for different zones.
+     *
+     * @param zoneId  the zone ID, not null
+     * @return the rules, not null
+     * @throws Exception if an error occurs
+     */
+    private ZoneRules buildZone(String zoneId) throws Exception {
+        List<TZDBZone> tzdbZones = zones.get(zoneId);
+        String key = null;
+        if (buildCache != null) {
+            key = sourceKey(tzdbZones);
+            ZoneRules cachedRules = buildCache.get(key);
+            if (cachedRules != null) {
+                printVerbose("Reusing zone " + zoneId);
+                return cachedRules;
+            }
+        }
+        printVerbose("Building zone " + zoneId);
+        zoneId = deduplicate(zoneId);
+        ZoneRulesBuilder bld = new ZoneRulesBuilder();
+        for (TZDBZone tzdbZone : tzdbZones) {
+            bld = tzdbZone.addToBuilder(bld, rules);
+        }
+        ZoneRules buildRules = deduplicate(bld.toRules(zoneId, deduplicateMap));
+        if (buildCache != null) {
+            buildCache.put(key, buildRules);
+        }
+        return buildRules;
+    }
+
+    /**
+     * Creates the key of a zone in the build cache.
+     * <p>
+     * This is formed from the source lines of the zone and of each of the rules it refers to.
+     *
+     * @param tzdbZones  the zone lines, not null
+     * @return the key, not null
+     */
+    private String sourceKey(List<TZDBZone> tzdbZones) {
+        StringBuilder buf = new StringBuilder(256);
+        Set<String> ruleNames = new TreeSet<String>();
+        for (TZDBZone tzdbZone : tzdbZones) {
+            buf.append(tzdbZone.source).append('\n');
+            if (tzdbZone.savingsRule != null) {
+                ruleNames.add(tzdbZone.savingsRule);
+            }
+        }
+        for (String ruleName : ruleNames) {
+            List<TZDBRule> tzdbRules = rules.get(ruleName);
+            if (tzdbRules != null) {
+                for (TZDBRule tzdbRule : tzdbRules) {
+                    buf.append(tzdbRule.source).append('\n');
+                }
+            }
+        }
+        return buf.toString();
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Deduplicates an object instance.
@@ -983,6 +1231,8 @@ final class TzdbZoneRulesCompiler {
         int adjustDays;
         /** The time of the cutover. */
         TimeDefinition timeDefinition = TimeDefinition.WALL;
+        /** The source line, without comments. */
+        String source;
 
         void adjustToFowards(int year) {
             if (adjustForwards == false && dayOfMonth > 0) {
@@ -1009,7 +1259,6 @@ final class TzdbZoneRulesCompiler {
         String text;
 
         void addToBuilder(ZoneRulesBuilder bld) {
-            adjustToFowards(2004);  // irrelevant, treat as leap year
             bld.addRuleToWindow(startYear, endYear, month, dayOfMonth, dayOfWeek, time, adjustDays, timeDefinition, savingsAmount);
         }
     }
@@ -31,30 +31,47 @@
  */
 package org.threeten.bp.zone;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.StreamCorruptedException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.jdk8.PerThreadCounter;
 
 /**
  * Loads time-zone rules for 'TZDB'.
  * <p>
  * This class is public for the service loader to access.
+ * <p>
+ * The data is held in a single read-only buffer, which is memory-mapped when
+ * the data is a file. Only the index of the data is read when loading, with the
+ * rules for each region decoded directly from the buffer when first requested.
+ * <p>
+ * Two formats of data are supported. The original format holds each set of rules
+ * in serialized form. The columnar format holds the transitions of each set of rules
+ * as aligned columns of primitives, which are copied in bulk when decoded.
  *
  * <h3>Specification for implementors</h3>
  * This class is immutable and thread-safe.
@@ -64,13 +81,28 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     // service loader seems to need it to be public
 
     /**
-     * All the regions that are available.
+     * The format of the data file where rules are serialized individually.
+     */
+    static final int FORMAT_SERIALIZED = 1;
+    /**
+     * The format of the data file where rules are stored as aligned columns.
+     */
+    static final int FORMAT_COLUMNAR = 2;
+
+    /**
+     * The regions and versions that are available.
+     * This is an immutable snapshot, replaced as a whole when data is loaded,
+     * thus lookups never observe a partially loaded state.
      */
-    private List<String> regionIds;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
     /**
-     * All the versions that are available.
+     * The number of rule lookups, counted per thread as every lookup increments it.
      */
-    private final ConcurrentNavigableMap<String, Version> versions = new ConcurrentSkipListMap<String, Version>();
+    private final PerThreadCounter rulesLookupCount = new PerThreadCounter();
+    /**
+     * The number of rule lookups that decoded the rules.
+     */
+    private final AtomicLong rulesDecodeCount = new AtomicLong();
     /**
      * All the URLs that have been loaded.
      * Uses String to avoid equals() on URL.
@@ -129,13 +161,14 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     //-----------------------------------------------------------------------
     @Override
     protected Set<String> provideZoneIds() {
-        return new HashSet<String>(regionIds);
+        return new HashSet<String>(snapshot.regionIds);
     }
 
     @Override
     protected ZoneRules provideRules(String zoneId, boolean forCaching) {
         Jdk8Methods.requireNonNull(zoneId, "zoneId");
-        ZoneRules rules = versions.lastEntry().getValue().getRules(zoneId);
+        Version latest = snapshot.latest;
+        ZoneRules rules = (latest != null ? latest.getRules(zoneId) : null);
         if (rules == null) {
             throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
         }
@@ -145,7 +178,7 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     @Override
     protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
         TreeMap<String, ZoneRules> map = new TreeMap<String, ZoneRules>();
-        for (Version version : versions.values()) {
+        for (Version version : snapshot.versions.values()) {
             ZoneRules rules = version.getRules(zoneId);
             if (rules != null) {
                 map.put(version.versionId, rules);
@@ -154,6 +187,33 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         return map;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of rule lookups that found the rules already decoded.
+     * <p>
+     * Rules are decoded from the data on first use, thus this and
+     * {@link #getRulesDecodeCount()} show how well decoding is being amortized.
+     *
+     * @return the number of lookups that found decoded rules
+     */
+    public long getRulesHitCount() {
+        // read the decodes first, as each decode is counted after its lookup
+        long decodes = rulesDecodeCount.get();
+        return Math.max(rulesLookupCount.sum() - decodes, 0);
+    }
+
+    /**
+     * Gets the number of rule lookups that decoded the rules.
+     * <p>
+     * This is usually the number of distinct rules used, but may be slightly
+     * higher if threads race to decode the same rules.
+     *
+     * @return the number of lookups that decoded rules
+     */
+    public long getRulesDecodeCount() {
+        return rulesDecodeCount.get();
+    }
+
     //-------------------------------------------------------------------------
     /**
      * Loads the rules.
@@ -189,19 +249,53 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     private boolean load(URL url) throws ClassNotFoundException, IOException, ZoneRulesException {
         boolean updated = false;
         if (loadedUrls.add(url.toExternalForm())) {
-            InputStream in = null;
-            try {
-                in = url.openStream();
-                updated |= load(in);
-            } finally {
-                if (in != null) {
-                    in.close();
+            ByteBuffer data = mapFile(url);
+            if (data != null) {
+                updated |= load(data);
+            } else {
+                InputStream in = null;
+                try {
+                    in = url.openStream();
+                    updated |= load(in);
+                } finally {
+                    if (in != null) {
+                        in.close();
+                    }
                 }
             }
         }
         return updated;
     }
 
+    /**
+     * Memory-maps the data if the URL refers to a file.
+     *
+     * @param url  the URL to map, not null
+     * @return the read-only mapped data, null if not a file
+     * @throws IOException if an IO error occurs
+     */
+    private static ByteBuffer mapFile(URL url) throws IOException {
+        if ("file".equals(url.getProtocol()) == false) {
+            return null;
+        }
+        File file;
+        try {
+            file = new File(url.toURI());
+        } catch (URISyntaxException ex) {
+            return null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            // the mapping remains valid after the file is closed
+            FileChannel channel = raf.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            raf.close();
+        }
+    }
+
     /**
      * Loads the rules from an input stream.
      *
@@ -209,29 +303,78 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      * @throws Exception if an error occurs
      */
     private boolean load(InputStream in) throws IOException, StreamCorruptedException {
-        boolean updated = false;
-        Iterable<Version> loadedVersions = loadData(in);
+        return load(readFully(in));
+    }
+
+    /**
+     * Reads the whole of an input stream into a single buffer.
+     *
+     * @param in  the stream to read, not null, not closed after use
+     * @return the data, not null
+     * @throws IOException if an IO error occurs
+     */
+    private static ByteBuffer readFully(InputStream in) throws IOException {
+        byte[] bytes = new byte[Math.max(in.available(), 8192)];
+        int length = 0;
+        while (true) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int read = in.read(bytes, length, bytes.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return ByteBuffer.wrap(bytes, 0, length).slice();
+    }
+
+    /**
+     * Loads the rules from a buffer.
+     *
+     * @param data  the data to load, not null
+     * @throws Exception if an error occurs
+     */
+    private boolean load(ByteBuffer data) throws IOException, StreamCorruptedException {
+        return loadData(data.asReadOnlyBuffer());
+    }
+
+    /**
+     * Publishes loaded versions by replacing the snapshot.
+     * <p>
+     * Versions that are already loaded are retained in preference to those loaded.
+     *
+     * @param loadedVersions  the loaded versions, not null
+     * @param loadedRegionIds  the regions of the loaded data, not null
+     * @return true if updated
+     */
+    private synchronized boolean publish(Collection<Version> loadedVersions, List<String> loadedRegionIds) {
+        TreeMap<String, Version> newVersions = new TreeMap<String, Version>(snapshot.versions);
         for (Version loadedVersion : loadedVersions) {
             // see https://github.com/ThreeTen/threetenbp/pull/28 for issue wrt
             // multiple versions of lib on classpath
-            Version existing = versions.putIfAbsent(loadedVersion.versionId, loadedVersion);
-            if (existing != null && !existing.versionId.equals(loadedVersion.versionId)) {
-                throw new ZoneRulesException("Data already loaded for TZDB time-zone rules version: " + loadedVersion.versionId);
+            if (newVersions.containsKey(loadedVersion.versionId) == false) {
+                newVersions.put(loadedVersion.versionId, loadedVersion);
             }
-            updated = true;
         }
-        return updated;
+        snapshot = new Snapshot(newVersions, loadedRegionIds);
+        return loadedVersions.isEmpty() == false;
     }
 
     /**
-     * Loads the rules from an input stream.
+     * Loads the index of the rules from a buffer.
+     * <p>
+     * The rules themselves are not read, only their position in the buffer.
      *
-     * @param in  the stream to load, not null, not closed after use
+     * @param data  the read-only data to load, positioned at the start, not null
+     * @return true if updated
      * @throws Exception if an error occurs
      */
-    private Iterable<Version> loadData(InputStream in) throws IOException, StreamCorruptedException {
-        DataInputStream dis = new DataInputStream(in);
-        if (dis.readByte() != 1) {
+    private boolean loadData(ByteBuffer data) throws IOException, StreamCorruptedException {
+        ByteBuffer buf = data.duplicate();
+        DataInputStream dis = new DataInputStream(new ByteBufferInputStream(buf));
+        int format = dis.readByte();
+        if (format != FORMAT_SERIALIZED && format != FORMAT_COLUMNAR) {
             throw new StreamCorruptedException("File format not recognised");
         }
         // group
@@ -251,29 +394,45 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         for (int i = 0; i < regionCount; i++) {
             regionArray[i] = dis.readUTF();
         }
-        regionIds = Arrays.asList(regionArray);
         // rules
         int ruleCount = dis.readShort();
-        Object[] ruleArray = new Object[ruleCount];
-        for (int i = 0; i < ruleCount; i++) {
-            byte[] bytes = new byte[dis.readShort()];
-            dis.readFully(bytes);
-            ruleArray[i] = bytes;
+        int[] ruleOffsets = new int[ruleCount];
+        if (format == FORMAT_SERIALIZED) {
+            for (int i = 0; i < ruleCount; i++) {
+                int length = dis.readShort();
+                if (length < 0 || length > buf.remaining()) {
+                    throw new StreamCorruptedException("File format not recognised");
+                }
+                ruleOffsets[i] = buf.position();
+                buf.position(buf.position() + length);
+            }
+        } else {
+            for (int i = 0; i < ruleCount; i++) {
+                int offset = dis.readInt();
+                if (offset < 0 || offset > data.limit() - 16) {
+                    throw new StreamCorruptedException("File format not recognised");
+                }
+                ruleOffsets[i] = offset;
+            }
         }
-        AtomicReferenceArray<Object> ruleData = new AtomicReferenceArray<Object>(ruleArray);
+        RuleData ruleData = new RuleData(data, ruleOffsets, format, rulesLookupCount, rulesDecodeCount);
         // link version-region-rules
         Set<Version> versionSet = new HashSet<Version>(versionCount);
         for (int i = 0; i < versionCount; i++) {
             int versionRegionCount = dis.readShort();
             String[] versionRegionArray = new String[versionRegionCount];
-            short[] versionRulesArray = new short[versionRegionCount];
+            RuleSlot[] versionRulesArray = new RuleSlot[versionRegionCount];
             for (int j = 0; j < versionRegionCount; j++) {
                 versionRegionArray[j] = regionArray[dis.readShort()];
-                versionRulesArray[j] = dis.readShort();
+                int ruleIndex = dis.readShort();
+                if (ruleIndex < 0 || ruleIndex >= ruleCount) {
+                    throw new StreamCorruptedException("File format not recognised");
+                }
+                versionRulesArray[j] = ruleData.slots[ruleIndex];
             }
-            versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleData));
+            versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray));
         }
-        return versionSet;
+        return publish(versionSet, Arrays.asList(regionArray));
     }
 
     @Override
@@ -281,50 +440,147 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         return "TZDB";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * An immutable snapshot of the loaded regions and versions.
+     */
+    static final class Snapshot {
+        /**
+         * The snapshot before any data is loaded.
+         */
+        static final Snapshot EMPTY = new Snapshot(new TreeMap<String, Version>(), Collections.<String>emptyList());
+
+        /**
+         * All the versions that are available, not altered.
+         */
+        final NavigableMap<String, Version> versions;
+        /**
+         * The latest version, null if none.
+         */
+        final Version latest;
+        /**
+         * All the regions that are available.
+         */
+        final List<String> regionIds;
+
+        Snapshot(TreeMap<String, Version> versions, List<String> regionIds) {
+            this.versions = versions;
+            this.latest = (versions.isEmpty() ? null : versions.lastEntry().getValue());
+            this.regionIds = regionIds;
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * A version of the TZDB rules.
      */
     static class Version {
         private final String versionId;
-        private final String[] regionArray;
-        private final short[] ruleIndices;
-        private final AtomicReferenceArray<Object> ruleData;
+        private final Map<String, RuleSlot> ruleSlots;
 
-        Version(String versionId, String[] regionIds, short[] ruleIndices, AtomicReferenceArray<Object> ruleData) {
-            this.ruleData = ruleData;
+        Version(String versionId, String[] regionIds, RuleSlot[] ruleSlots) {
             this.versionId = versionId;
-            this.regionArray = regionIds;
-            this.ruleIndices = ruleIndices;
+            this.ruleSlots = new HashMap<String, RuleSlot>(regionIds.length * 2);
+            for (int i = 0; i < regionIds.length; i++) {
+                this.ruleSlots.put(regionIds[i], ruleSlots[i]);
+            }
         }
 
         ZoneRules getRules(String regionId) {
-            int regionIndex = Arrays.binarySearch(regionArray, regionId);
-            if (regionIndex < 0) {
+            RuleSlot slot = ruleSlots.get(regionId);
+            if (slot == null) {
                 return null;
             }
             try {
-                return createRule(ruleIndices[regionIndex]);
+                return slot.getRules();
             } catch (Exception ex) {
                 throw new ZoneRulesException("Invalid binary time-zone data: TZDB:" + regionId + ", version: " + versionId, ex);
             }
         }
 
-        ZoneRules createRule(short index) throws Exception {
-            Object obj = ruleData.get(index);
-            if (obj instanceof byte[]) {
-                byte[] bytes = (byte[]) obj;
-                DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
-                obj = Ser.read(dis);
-                ruleData.set(index, obj);
-            }
-            return (ZoneRules) obj;
-        }
-
         @Override
         public String toString() {
             return versionId;
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The rules, shared between versions, decoded from the buffer on first use.
+     */
+    static class RuleData {
+        private final ByteBuffer data;
+        private final int[] offsets;
+        private final int format;
+        private final PerThreadCounter lookupCount;
+        private final AtomicLong decodeCount;
+        /**
+         * The slot for each set of rules, by index.
+         */
+        final RuleSlot[] slots;
+        /**
+         * The canonical instance of each distinct set of rules decoded so far from this data.
+         * Equal rules stored separately for different versions thus share a single instance,
+         * while the instances are released together with the loaded data.
+         */
+        private final ConcurrentMap<ZoneRules, ZoneRules> canonicalRules;
+
+        RuleData(ByteBuffer data, int[] offsets, int format, PerThreadCounter lookupCount, AtomicLong decodeCount) {
+            this.data = data;
+            this.offsets = offsets;
+            this.format = format;
+            this.lookupCount = lookupCount;
+            this.decodeCount = decodeCount;
+            this.canonicalRules = new ConcurrentHashMap<ZoneRules, ZoneRules>(offsets.length, 0.75f, 2);
+            this.slots = new RuleSlot[offsets.length];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = new RuleSlot(this, i);
+            }
+        }
+
+        ZoneRules decode(int index) throws Exception {
+            // duplicate for a private position, as the buffer is shared between threads
+            ByteBuffer buf = data.duplicate();
+            buf.position(offsets[index]);
+            ZoneRules obj;
+            if (format == FORMAT_COLUMNAR) {
+                obj = StandardZoneRules.readColumns(buf);
+            } else {
+                obj = (ZoneRules) Ser.read(new DataInputStream(new ByteBufferInputStream(buf)));
+            }
+            ZoneRules existing = canonicalRules.putIfAbsent(obj, obj);
+            return (existing != null ? existing : obj);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The handle to one set of rules in the data, decoded on first use.
+     * <p>
+     * Each version maps its regions directly to these handles, so a lookup is a
+     * single hash lookup. All regions and versions with the same rules share a handle.
+     */
+    static final class RuleSlot {
+        private final RuleData ruleData;
+        private final int index;
+        private volatile ZoneRules rules;
+
+        RuleSlot(RuleData ruleData, int index) {
+            this.ruleData = ruleData;
+            this.index = index;
+        }
+
+        ZoneRules getRules() throws Exception {
+            ruleData.lookupCount.increment();
+            ZoneRules obj = rules;
+            if (obj != null) {
+                return obj;
+            }
+            obj = ruleData.decode(index);
+            rules = obj;
+            ruleData.decodeCount.incrementAndGet();
+            return obj;
+        }
+    }
+
 }
@@ -31,12 +31,12 @@
  */
 package org.threeten.bp.zone;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.ZoneId;
@@ -71,13 +71,11 @@ import org.threeten.bp.jdk8.Jdk8Methods;
 public abstract class ZoneRulesProvider {
 
     /**
-     * The set of loaded providers.
+     * The loaded providers and the lookup from zone region ID to provider.
+     * This is an immutable snapshot, replaced as a whole on registration,
+     * thus a lookup is a single volatile read followed by a hash lookup.
      */
-    private static final CopyOnWriteArrayList<ZoneRulesProvider> PROVIDERS = new CopyOnWriteArrayList<ZoneRulesProvider>();
-    /**
-     * The lookup from zone region ID to provider.
-     */
-    private static final ConcurrentMap<String, ZoneRulesProvider> ZONES = new ConcurrentHashMap<String, ZoneRulesProvider>(512, 0.75f, 2);
+    private static volatile Registry registry = Registry.EMPTY;
     static {
         ZoneRulesInitializer.initialize();
     }
@@ -87,11 +85,12 @@ public abstract class ZoneRulesProvider {
      * Gets the set of available zone IDs.
      * <p>
      * These zone IDs are loaded and available for use by {@code ZoneId}.
+     * A new set is returned after a provider is registered or the rules are refreshed.
      *
      * @return the unmodifiable set of zone IDs, not null
      */
     public static Set<String> getAvailableZoneIds() {
-        return Collections.unmodifiableSet(ZONES.keySet());
+        return registry.zoneIds;
     }
 
     /**
@@ -159,9 +158,10 @@ public abstract class ZoneRulesProvider {
      * @throws ZoneRulesException if the zone ID is unknown
      */
     private static ZoneRulesProvider getProvider(String zoneId) {
-        ZoneRulesProvider provider = ZONES.get(zoneId);
+        Map<String, ZoneRulesProvider> zones = registry.zones;
+        ZoneRulesProvider provider = zones.get(zoneId);
         if (provider == null) {
-            if (ZONES.isEmpty()) {
+            if (zones.isEmpty()) {
                 throw new ZoneRulesException("No time-zone data files registered");
             }
             throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
@@ -187,25 +187,8 @@ public abstract class ZoneRulesProvider {
      */
     public static void registerProvider(ZoneRulesProvider provider) {
         Jdk8Methods.requireNonNull(provider, "provider");
-        registerProvider0(provider);
-        PROVIDERS.add(provider);
-    }
-
-    /**
-     * Registers the provider.
-     *
-     * @param provider  the provider to register, not null
-     * @throws ZoneRulesException if unable to complete the registration
-     */
-    private static void registerProvider0(ZoneRulesProvider provider) {
-        for (String zoneId : provider.provideZoneIds()) {
-            Jdk8Methods.requireNonNull(zoneId, "zoneId");
-            ZoneRulesProvider old = ZONES.putIfAbsent(zoneId, provider);
-            if (old != null) {
-                throw new ZoneRulesException(
-                    "Unable to register zone as one already registered with that ID: " + zoneId +
-                    ", currently loading from provider: " + provider);
-            }
+        synchronized (ZoneRulesProvider.class) {
+            registry = registry.with(provider);
         }
     }
 
@@ -226,9 +209,15 @@ public abstract class ZoneRulesProvider {
      */
     public static boolean refresh() {
         boolean changed = false;
-        for (ZoneRulesProvider provider : PROVIDERS) {
+        for (ZoneRulesProvider provider : registry.providers) {
             changed |= provider.provideRefresh();
         }
+        if (changed) {
+            // replace the snapshot so that rules cached in ZoneId are reloaded
+            synchronized (ZoneRulesProvider.class) {
+                registry = registry.refreshed();
+            }
+        }
         return changed;
     }
 
@@ -308,4 +297,69 @@ public abstract class ZoneRulesProvider {
         return false;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * An immutable snapshot of the registered providers.
+     */
+    private static final class Registry {
+        /**
+         * The registry before any provider is registered.
+         */
+        static final Registry EMPTY = new Registry(
+                new ZoneRulesProvider[0], new HashMap<String, ZoneRulesProvider>());
+
+        /**
+         * The providers, in order of registration, not altered.
+         */
+        final ZoneRulesProvider[] providers;
+        /**
+         * The lookup from zone region ID to provider, not altered.
+         */
+        final Map<String, ZoneRulesProvider> zones;
+        /**
+         * The unmodifiable set of zone region IDs.
+         */
+        final Set<String> zoneIds;
+
+        private Registry(ZoneRulesProvider[] providers, HashMap<String, ZoneRulesProvider> zones) {
+            this.providers = providers;
+            this.zones = zones;
+            this.zoneIds = Collections.unmodifiableSet(zones.keySet());
+        }
+
+        /**
+         * Creates a registry that also holds the specified provider.
+         * <p>
+         * This registry is unaltered, thus nothing is registered if an exception is thrown.
+         *
+         * @param provider  the provider to register, not null
+         * @return the new registry, not null
+         * @throws ZoneRulesException if unable to complete the registration
+         */
+        Registry with(ZoneRulesProvider provider) {
+            HashMap<String, ZoneRulesProvider> newZones = new HashMap<String, ZoneRulesProvider>(zones);
+            for (String zoneId : provider.provideZoneIds()) {
+                Jdk8Methods.requireNonNull(zoneId, "zoneId");
+                ZoneRulesProvider old = newZones.put(zoneId, provider);
+                if (old != null) {
+                    throw new ZoneRulesException(
+                        "Unable to register zone as one already registered with that ID: " + zoneId +
+                        ", currently loading from provider: " + provider);
+                }
+            }
+            ZoneRulesProvider[] newProviders = Arrays.copyOf(providers, providers.length + 1);
+            newProviders[providers.length] = provider;
+            return new Registry(newProviders, newZones);
+        }
+
+        /**
+         * Creates a registry with the same providers, for use after the rules are refreshed.
+         *
+         * @return the new registry, not null
+         */
+        Registry refreshed() {
+            return new Registry(providers, new HashMap<String, ZoneRulesProvider>(zones));
+        }
+    }
+
 }
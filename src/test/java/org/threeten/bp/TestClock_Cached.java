@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2007-present Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test cached clock.
+ */
+@Test
+public class TestClock_Cached {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final Instant INSTANT = LocalDateTime.of(2008, 6, 30, 11, 30, 10, 500).atZone(ZoneOffset.ofHours(2)).toInstant();
+
+    //-----------------------------------------------------------------------
+    public void test_cached_Duration() {
+        Clock.CachedClock test = Clock.cached(Duration.ofMillis(10));
+        try {
+            assertTrue(test.isStarted());
+            assertEquals(test.getZone(), ZoneOffset.UTC);
+            assertEquals(test.getResolution(), Duration.ofMillis(10));
+            long before = System.currentTimeMillis();
+            assertTrue(Math.abs(test.millis() - before) < 10000);
+        } finally {
+            test.stop();
+        }
+    }
+
+    public void test_cached_ClockDuration_returnsCachedInstance() {
+        Clock.CachedClock test = Clock.cached(Clock.systemUTC(), Duration.ofSeconds(60));
+        try {
+            Instant first = test.instant();
+            assertSame(test.instant(), first);
+            assertSame(test.instant(), first);
+        } finally {
+            test.stop();
+        }
+    }
+
+    public void test_cached_ClockDuration_refreshes() throws InterruptedException {
+        Clock.CachedClock test = Clock.cached(Clock.systemUTC(), Duration.ofMillis(1));
+        try {
+            Instant first = test.instant();
+            long end = System.currentTimeMillis() + 10000;
+            while (test.instant() == first && System.currentTimeMillis() < end) {
+                Thread.sleep(5);
+            }
+            assertNotSame(test.instant(), first);
+        } finally {
+            test.stop();
+        }
+    }
+
+    public void test_cached_ClockDuration_fixedBase() {
+        Clock.CachedClock test = Clock.cached(Clock.fixed(INSTANT, PARIS), Duration.ofMillis(5));
+        try {
+            assertEquals(test.instant(), INSTANT);
+            assertEquals(test.getZone(), PARIS);
+        } finally {
+            test.stop();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_stop_start() {
+        Clock.CachedClock test = Clock.cached(Clock.systemUTC(), Duration.ofSeconds(60));
+        Instant cached = test.instant();
+        test.stop();
+        assertFalse(test.isStarted());
+        Instant direct = test.instant();
+        assertNotSame(test.instant(), direct);
+        assertFalse(direct.isBefore(cached));
+        test.stop();
+        test.start();
+        try {
+            assertTrue(test.isStarted());
+            Instant restarted = test.instant();
+            assertSame(test.instant(), restarted);
+        } finally {
+            test.stop();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_cached_failingBase() throws InterruptedException {
+        final AtomicBoolean failing = new AtomicBoolean();
+        Clock base = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+            @Override
+            public Instant instant() {
+                if (failing.get()) {
+                    throw new IllegalStateException("Broken");
+                }
+                return INSTANT;
+            }
+        };
+        Clock.CachedClock test = Clock.cached(base, Duration.ofMillis(1));
+        try {
+            assertSame(test.instant(), INSTANT);
+            failing.set(true);
+            long end = System.currentTimeMillis() + 10000;
+            while (test.isStarted() && System.currentTimeMillis() < end) {
+                Thread.sleep(1);
+            }
+            assertFalse(test.isStarted());
+            try {
+                test.instant();
+                fail();
+            } catch (IllegalStateException ex) {
+                // expected, the base clock is queried directly
+            }
+            failing.set(false);
+            assertSame(test.instant(), INSTANT);
+        } finally {
+            test.stop();
+        }
+    }
+
+    public void test_withZone() {
+        Clock.CachedClock test = Clock.cached(Clock.fixed(INSTANT, PARIS), Duration.ofSeconds(60));
+        try {
+            Clock.CachedClock changed = test.withZone(ZoneOffset.UTC);
+            assertEquals(changed.getZone(), ZoneOffset.UTC);
+            assertEquals(changed.instant(), INSTANT);
+            assertSame(test.withZone(PARIS), test);
+            assertEquals(changed.withZone(PARIS), test);
+            changed.stop();
+            assertFalse(test.isStarted());
+        } finally {
+            test.stop();
+        }
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_withZone_null() {
+        Clock.CachedClock test = Clock.cached(Clock.systemUTC(), Duration.ofSeconds(60));
+        try {
+            test.withZone(null);
+        } finally {
+            test.stop();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_cached_zeroResolution() {
+        Clock.cached(Clock.systemUTC(), Duration.ZERO);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_cached_negativeResolution() {
+        Clock.cached(Clock.systemUTC(), Duration.ofMillis(-1));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_cached_nullClock() {
+        Clock.cached(null, Duration.ofMillis(1));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_cached_nullDuration() {
+        Clock.cached(Clock.systemUTC(), null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_toString() {
+        Clock.CachedClock test = Clock.cached(Clock.fixed(INSTANT, PARIS), Duration.ofSeconds(1));
+        try {
+            assertEquals(test.toString(), "CachedClock[" + Clock.fixed(INSTANT, PARIS) + ",PT1S,Europe/Paris]");
+        } finally {
+            test.stop();
+        }
+    }
+
+}
@@ -32,6 +32,7 @@
 package org.threeten.bp;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.threeten.bp.temporal.ChronoField.INSTANT_SECONDS;
 import static org.threeten.bp.temporal.ChronoField.MICRO_OF_SECOND;
@@ -1653,6 +1654,18 @@ public class TestInstant extends AbstractDateTimeTest {
         assertEquals(instant.toString(), expected);
     }
 
+    @Test(dataProvider="toStringParse")
+    public void test_appendTo(Instant instant, String expected) {
+        StringBuilder buf = new StringBuilder("Time: ");
+        assertSame(instant.appendTo(buf), buf);
+        assertEquals(buf.toString(), "Time: " + expected);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_appendTo_null() {
+        Instant.EPOCH.appendTo(null);
+    }
+
     @Test(dataProvider="toStringParse")
     public void test_parse(Instant instant, String text) {
         assertEquals(Instant.parse(text), instant);
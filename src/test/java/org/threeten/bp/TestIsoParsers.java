@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2007-present Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.format.DateTimeFormatter;
+
+/**
+ * Test IsoParsers.
+ */
+@Test
+public class TestIsoParsers {
+
+    @DataProvider(name = "dateTimes")
+    Object[][] data_dateTimes() {
+        return new Object[][] {
+            {"2012-06-30T12:30:40Z"},
+            {"2012-06-30T12:30:40.5Z"},
+            {"2012-06-30T12:30:40.123456789Z"},
+            {"2012-06-30T12:30Z"},
+            {"2012-06-30T12:30+01:00"},
+            {"2012-06-30T12:30:40-05:30"},
+            {"2012-06-30T12:30:40+01:02:03"},
+            {"2012-06-30T12:30:40-00:00"},
+            {"2012-02-29T00:00:00+18:00"},
+            {"0000-01-01T00:00:00Z"},
+            {"9999-12-31T23:59:59.999999999-18:00"},
+        };
+    }
+
+    @Test(dataProvider = "dateTimes")
+    public void test_parse_matchesFormatter(String text) {
+        OffsetDateTime expected = OffsetDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        assertEquals(IsoParsers.parseOffsetDateTime(text), expected);
+        assertEquals(IsoParsers.parseZonedDateTime(text), ZonedDateTime.parse(text, DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        int offsetStart = Math.max(text.lastIndexOf('+'), text.lastIndexOf('-'));
+        String local = text.substring(0, offsetStart > 10 ? offsetStart : text.length() - 1);
+        assertEquals(IsoParsers.parseLocalDateTime(local), expected.toLocalDateTime());
+        assertEquals(IsoParsers.parseLocalDate(local.substring(0, 10)), expected.toLocalDate());
+        assertEquals(IsoParsers.parseLocalTime(local.substring(11)), expected.toLocalTime());
+    }
+
+    public void test_parseZonedDateTime_region() {
+        String text = "2012-06-30T12:30:40+05:00[Europe/Paris]";
+        ZonedDateTime test = IsoParsers.parseZonedDateTime(text);
+        assertEquals(test, ZonedDateTime.parse(text, DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        assertEquals(test, ZonedDateTime.of(2012, 6, 30, 9, 30, 40, 0, ZoneId.of("Europe/Paris")));
+    }
+
+    public void test_parseInstant() {
+        assertEquals(IsoParsers.parseInstant("2012-06-30T12:30:40.5Z"), Instant.ofEpochSecond(1341059440L, 500000000));
+        assertEquals(IsoParsers.parseInstant("1969-12-31T23:59:59.999999999Z"), Instant.ofEpochSecond(-1, 999999999));
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "nonCanonical")
+    Object[][] data_nonCanonical() {
+        return new Object[][] {
+            {"+2012-06-30T12:30:40Z"},
+            {"12012-06-30T12:30:40Z"},
+            {"2012-06-30t12:30:40Z"},
+            {"2012-06-30T12:30:40z"},
+            {"2012-06-30T12:30:40.Z"},
+            {"2012-06-30T12:30:40.1234567891Z"},
+            {"2012-06-30T24:00:00Z"},
+            {"2012-06-30T23:59:60Z"},
+            {"2012-02-30T12:30:40Z"},
+            {"2011-02-29T12:30:40Z"},
+            {"2012-13-01T12:30:40Z"},
+            {"2012-06-30T12:30:40+19:00"},
+            {"2012-06-30T12:30:40+18:00:01"},
+            {"2012-06-30T12:30:40+01"},
+            {"2012-06-30T12:30:40+0100"},
+            {"2012-06-30T12:30:40Z[UTC]"},
+            {"2012-06-30T12:30:40Z[GMT]"},
+            {"2012-06-30T12:30:40Z[+01:00]"},
+            {"2012-06-30T12:30:40Z[Europe/Nowhere]"},
+            {"2012-06-30T12:30:40Z[]"},
+            {"2012-06-30T12:30:40Zx"},
+            {"2012-06-30"},
+            {""},
+        };
+    }
+
+    @Test(dataProvider = "nonCanonical")
+    public void test_parse_nonCanonical(String text) {
+        assertNull(IsoParsers.parseOffsetDateTime(text));
+        assertNull(IsoParsers.parseZonedDateTime(text));
+        assertNull(IsoParsers.parseLocalDateTime(text));
+        assertNull(IsoParsers.parseInstant(text));
+    }
+
+    public void test_parseLocal_nonCanonical() {
+        assertNull(IsoParsers.parseLocalDate("2012-6-30"));
+        assertNull(IsoParsers.parseLocalDate("2012-06-31"));
+        assertNull(IsoParsers.parseLocalDate("2012/06/30"));
+        assertNull(IsoParsers.parseLocalTime("12:30:4"));
+        assertNull(IsoParsers.parseLocalTime("12:60"));
+        assertNull(IsoParsers.parseLocalTime("12:30:40Z"));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parse_fallsBackToFormatter() {
+        assertEquals(LocalDate.parse("+12012-06-30"), LocalDate.of(12012, 6, 30));
+        assertEquals(LocalDateTime.parse("2012-06-30t12:30"), LocalDateTime.of(2012, 6, 30, 12, 30));
+        assertEquals(OffsetDateTime.parse("2012-06-30T12:30z"), OffsetDateTime.of(2012, 6, 30, 12, 30, 0, 0, ZoneOffset.UTC));
+        assertEquals(ZonedDateTime.parse("2012-06-30T12:30Z[UTC]"), ZonedDateTime.of(2012, 6, 30, 12, 30, 0, 0, ZoneId.of("UTC")));
+        assertEquals(Instant.parse("2012-06-30T23:59:60Z"), Instant.ofEpochSecond(1341100799L));
+    }
+
+}
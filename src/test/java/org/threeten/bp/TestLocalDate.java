@@ -2011,6 +2011,14 @@ public class TestLocalDate extends AbstractDateTimeTest {
         assertEquals(str, expected);
     }
 
+    @Test(dataProvider="sampleToString")
+    public void test_appendTo(int y, int m, int d, String expected) {
+        LocalDate t = LocalDate.of(y, m, d);
+        StringBuilder buf = new StringBuilder("[");
+        assertSame(t.appendTo(buf), buf);
+        assertEquals(buf.toString(), "[" + expected);
+    }
+
     //-----------------------------------------------------------------------
     // format(DateTimeFormatter)
     //-----------------------------------------------------------------------
@@ -2987,6 +2987,14 @@ public class TestLocalDateTime extends AbstractDateTimeTest {
         assertEquals(str, expected);
     }
 
+    @Test(dataProvider="sampleToString")
+    public void test_appendTo(int y, int m, int d, int h, int mi, int s, int n, String expected) {
+        LocalDateTime t = LocalDateTime.of(y, m, d, h, mi, s, n);
+        StringBuilder buf = new StringBuilder("[");
+        assertSame(t.appendTo(buf), buf);
+        assertEquals(buf.toString(), "[" + expected);
+    }
+
     //-----------------------------------------------------------------------
     // format(DateTimeFormatter)
     //-----------------------------------------------------------------------
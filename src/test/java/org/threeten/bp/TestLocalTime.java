@@ -33,6 +33,7 @@ package org.threeten.bp;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 import static org.threeten.bp.temporal.ChronoField.AMPM_OF_DAY;
@@ -2251,6 +2252,14 @@ public class TestLocalTime extends AbstractDateTimeTest {
         assertEquals(str, expected);
     }
 
+    @Test(dataProvider="sampleToString")
+    public void test_appendTo(int h, int m, int s, int n, String expected) {
+        LocalTime t = LocalTime.of(h, m, s, n);
+        StringBuilder buf = new StringBuilder("[");
+        assertSame(t.appendTo(buf), buf);
+        assertEquals(buf.toString(), "[" + expected);
+    }
+
     //-----------------------------------------------------------------------
     // format(DateTimeFormatter)
     //-----------------------------------------------------------------------
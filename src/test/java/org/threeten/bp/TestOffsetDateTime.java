@@ -32,6 +32,7 @@
 package org.threeten.bp;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.threeten.bp.Month.DECEMBER;
 import static org.threeten.bp.temporal.ChronoField.ALIGNED_DAY_OF_WEEK_IN_MONTH;
@@ -1360,6 +1361,14 @@ public class TestOffsetDateTime extends AbstractDateTimeTest {
         assertEquals(str, expected);
     }
 
+    @Test(dataProvider="sampleToString")
+    public void test_appendTo(int y, int o, int d, int h, int m, int s, int n, String offsetId, String expected) {
+        OffsetDateTime t = OffsetDateTime.of(LocalDate.of(y, o, d), LocalTime.of(h, m, s, n), ZoneOffset.of(offsetId));
+        StringBuilder buf = new StringBuilder("[");
+        assertSame(t.appendTo(buf), buf);
+        assertEquals(buf.toString(), "[" + expected);
+    }
+
     //-----------------------------------------------------------------------
     // format(DateTimeFormatter)
     //-----------------------------------------------------------------------
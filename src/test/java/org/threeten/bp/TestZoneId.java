@@ -34,6 +34,7 @@ package org.threeten.bp;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
@@ -385,6 +386,24 @@ public class TestZoneId extends AbstractTest {
         assertEquals(test.getRules().isFixedOffset(), false);
     }
 
+    public void test_of_string_London_cached() {
+        ZoneId test = ZoneId.of("Europe/London");
+        assertSame(ZoneId.of("Europe/London"), test);
+        assertSame(ZoneId.of(new String("Europe/London")), test);
+    }
+
+    public void test_isValidId() {
+        assertEquals(ZoneRegion.isValidId("Europe/London"), true);
+        assertEquals(ZoneRegion.isValidId("Etc/GMT+1"), true);
+        assertEquals(ZoneRegion.isValidId("America/Port-au-Prince"), true);
+        assertEquals(ZoneRegion.isValidId("a~/._+-Z9"), true);
+        assertEquals(ZoneRegion.isValidId("A"), false);
+        assertEquals(ZoneRegion.isValidId("9A"), false);
+        assertEquals(ZoneRegion.isValidId("Europe London"), false);
+        assertEquals(ZoneRegion.isValidId("Europe/Lond\u00f6n"), false);
+        assertEquals(ZoneRegion.isValidId("\u00c5A"), false);
+    }
+
     //-----------------------------------------------------------------------
     @Test(expectedExceptions=NullPointerException.class)
     public void test_of_string_null() {
@@ -32,6 +32,7 @@
 package org.threeten.bp;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.threeten.bp.Month.JANUARY;
 import static org.threeten.bp.temporal.ChronoField.ALIGNED_DAY_OF_WEEK_IN_MONTH;
@@ -2023,6 +2024,14 @@ public class TestZonedDateTime extends AbstractDateTimeTest {
         assertEquals(str, expected);
     }
 
+    @Test(dataProvider="sampleToString")
+    public void test_appendTo(int y, int o, int d, int h, int m, int s, int n, String zoneId, String expected) {
+        ZonedDateTime t = ZonedDateTime.of(dateTime(y, o, d, h, m, s, n), ZoneId.of(zoneId));
+        StringBuilder buf = new StringBuilder("[");
+        assertSame(t.appendTo(buf), buf);
+        assertEquals(buf.toString(), "[" + expected);
+    }
+
     //-----------------------------------------------------------------------
     // format(DateTimeFormatter)
     //-----------------------------------------------------------------------
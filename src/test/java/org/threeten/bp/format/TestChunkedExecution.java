@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.BitSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.YearMonth;
+import org.threeten.bp.temporal.TemporalAccessor;
+
+/**
+ * Test ChunkedExecution and the bulk formatter methods that use it.
+ */
+@Test
+public class TestChunkedExecution {
+
+    private static final Executor REJECTING = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            throw new RejectedExecutionException();
+        }
+    };
+
+    //-----------------------------------------------------------------------
+    public void test_chunkCount() {
+        assertEquals(ChunkedExecution.chunkCount(0), 1);
+        assertEquals(ChunkedExecution.chunkCount(ChunkedExecution.MIN_CHUNK_SIZE - 1), 1);
+        assertEquals(ChunkedExecution.chunkCount(ChunkedExecution.MIN_CHUNK_SIZE * 2), Math.min(2, Runtime.getRuntime().availableProcessors() * 4));
+        assertTrue(ChunkedExecution.chunkCount(Integer.MAX_VALUE) <= Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public void test_execute_coversRange() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final int[] counts = new int[1000];
+            final AtomicInteger chunkCalls = new AtomicInteger();
+            new ChunkedExecution() {
+                @Override
+                void process(int chunk, int from, int to) {
+                    chunkCalls.incrementAndGet();
+                    for (int i = from; i < to; i++) {
+                        counts[i]++;
+                    }
+                }
+            }.execute(executor, counts.length, 7);
+            assertEquals(chunkCalls.get(), 7);
+            for (int i = 0; i < counts.length; i++) {
+                assertEquals(counts[i], 1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_execute_rejected() {
+        final int[] counts = new int[10];
+        new ChunkedExecution() {
+            @Override
+            void process(int chunk, int from, int to) {
+                for (int i = from; i < to; i++) {
+                    counts[i]++;
+                }
+            }
+        }.execute(REJECTING, counts.length, 3);
+        for (int i = 0; i < counts.length; i++) {
+            assertEquals(counts[i], 1);
+        }
+    }
+
+    public void test_execute_fromThreadOfSameExecutor() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final int[] counts = new int[1000];
+            Future<?> future = executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    new ChunkedExecution() {
+                        @Override
+                        void process(int chunk, int from, int to) {
+                            for (int i = from; i < to; i++) {
+                                counts[i]++;
+                            }
+                        }
+                    }.execute(executor, counts.length, 7);
+                }
+            });
+            future.get(10, TimeUnit.SECONDS);
+            for (int i = 0; i < counts.length; i++) {
+                assertEquals(counts[i], 1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_execute_executorFailure() {
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        final AtomicInteger submitted = new AtomicInteger();
+        Executor failing = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                if (submitted.getAndIncrement() > 0) {
+                    throw new IllegalStateException("Broken");
+                }
+                pool.execute(command);
+            }
+        };
+        final AtomicInteger[] counts = new AtomicInteger[1000];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new AtomicInteger();
+        }
+        try {
+            new ChunkedExecution() {
+                @Override
+                void process(int chunk, int from, int to) {
+                    for (int i = from; i < to; i++) {
+                        counts[i].incrementAndGet();
+                    }
+                }
+            }.execute(failing, counts.length, 7);
+            fail();
+        } catch (IllegalStateException ex) {
+            assertEquals(ex.getMessage(), "Broken");
+            for (int i = 0; i < counts.length; i++) {
+                assertEquals(counts[i].get(), 1);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void test_execute_lowestFailureThrown() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            new ChunkedExecution() {
+                @Override
+                void process(int chunk, int from, int to) {
+                    if (chunk >= 2) {
+                        throw new IllegalStateException("Chunk " + chunk);
+                    }
+                }
+            }.execute(executor, 100, 6);
+            fail();
+        } catch (IllegalStateException ex) {
+            assertEquals(ex.getMessage(), "Chunk 2");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parseToEpochDays_parallel() {
+        int size = ChunkedExecution.MIN_CHUNK_SIZE * 5 + 17;
+        CharSequence[] texts = new CharSequence[size];
+        for (int i = 0; i < size; i++) {
+            texts[i] = (i % 100 == 3 ? "2012-02-30" : LocalDate.ofEpochDay(i * 7L).toString());
+        }
+        long[] expectedDays = new long[size];
+        BitSet expected = DateTimeFormatter.ISO_LOCAL_DATE.parseToEpochDays(texts, expectedDays);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long[] days = new long[size];
+            BitSet errors = DateTimeFormatter.ISO_LOCAL_DATE.parseToEpochDays(texts, days, executor);
+            assertEquals(errors, expected);
+            assertEquals(days, expectedDays);
+            assertEquals(errors.cardinality(), (size + 96) / 100);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_parseToEpochSeconds_parallel() {
+        int size = ChunkedExecution.MIN_CHUNK_SIZE * 3 + 5;
+        CharSequence[] texts = new CharSequence[size];
+        for (int i = 0; i < size; i++) {
+            texts[i] = (i % 50 == 0 ? null : Instant.ofEpochSecond(i * 86399L, i).toString());
+        }
+        long[] expectedSecs = new long[size];
+        int[] expectedNanos = new int[size];
+        BitSet expected = DateTimeFormatter.ISO_INSTANT.parseToEpochSeconds(texts, expectedSecs, expectedNanos);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long[] secs = new long[size];
+            int[] nanos = new int[size];
+            BitSet errors = DateTimeFormatter.ISO_INSTANT.parseToEpochSeconds(texts, secs, nanos, executor);
+            assertEquals(errors, expected);
+            assertEquals(secs, expectedSecs);
+            assertEquals(nanos, expectedNanos);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_parseToEpochDays_parallel_shortOutput() {
+        DateTimeFormatter.ISO_LOCAL_DATE.parseToEpochDays(new CharSequence[2], new long[1], REJECTING);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parseToEpochDays_parallel_nullExecutor() {
+        DateTimeFormatter.ISO_LOCAL_DATE.parseToEpochDays(new CharSequence[2], new long[2], null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_format_parallel() {
+        int size = ChunkedExecution.MIN_CHUNK_SIZE * 4 + 3;
+        TemporalAccessor[] dates = new TemporalAccessor[size];
+        for (int i = 0; i < size; i++) {
+            dates[i] = LocalDate.ofEpochDay(i * 3L);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            String[] result = DateTimeFormatter.ISO_LOCAL_DATE.format(dates, executor);
+            for (int i = 0; i < size; i++) {
+                assertEquals(result[i], dates[i].toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_format_parallel_lowestFailure() {
+        int size = ChunkedExecution.MIN_CHUNK_SIZE * 4;
+        TemporalAccessor[] temporals = new TemporalAccessor[size];
+        for (int i = 0; i < size; i++) {
+            temporals[i] = LocalDate.ofEpochDay(i);
+        }
+        temporals[size - 1] = YearMonth.of(2012, 6);
+        temporals[ChunkedExecution.MIN_CHUNK_SIZE + 1] = LocalTime.MIDNIGHT;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            DateTimeFormatter.ISO_LOCAL_DATE.format(temporals, executor);
+            fail();
+        } catch (DateTimeException ex) {
+            DateTimeException expected = null;
+            try {
+                DateTimeFormatter.ISO_LOCAL_DATE.format(LocalTime.MIDNIGHT);
+            } catch (DateTimeException ex2) {
+                expected = ex2;
+            }
+            assertEquals(ex.getMessage(), expected.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
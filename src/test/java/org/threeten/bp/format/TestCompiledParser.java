@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneOffset;
+
+/**
+ * Test CompiledParser.
+ */
+@Test
+public class TestCompiledParser {
+
+    private static CompiledParser compile(DateTimeFormatter formatter) {
+        return CompiledParser.compile(formatter.toPrinterParser(false), formatter.getDecimalStyle(),
+                formatter.getResolverStyle(), formatter.getResolverFields(), formatter.getChronology(), formatter.getZone());
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="compilable")
+    Object[][] data_compilable() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE},
+            {DateTimeFormatter.ISO_LOCAL_TIME},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME},
+            {DateTimeFormatter.ISO_DATE},
+            {DateTimeFormatter.ISO_INSTANT},
+            {DateTimeFormatter.BASIC_ISO_DATE},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")},
+        };
+    }
+
+    @Test(dataProvider="compilable")
+    public void test_compile(DateTimeFormatter formatter) {
+        assertNotNull(compile(formatter));
+    }
+
+    @DataProvider(name="notCompilable")
+    Object[][] data_notCompilable() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME},
+            {DateTimeFormatter.ofPattern("dd MMM yyyy")},
+            {DateTimeFormatter.ofPattern("yy-MM-dd")},
+            {new DateTimeFormatterBuilder().parseLenient().appendPattern("yyyy-MM-dd").toFormatter()},
+            {new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd").parseDefaulting(org.threeten.bp.temporal.ChronoField.HOUR_OF_DAY, 0).toFormatter()},
+            {DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC)},
+            {DateTimeFormatter.ISO_LOCAL_DATE.withResolverFields(org.threeten.bp.temporal.ChronoField.YEAR)},
+        };
+    }
+
+    @Test(dataProvider="notCompilable")
+    public void test_compile_notCompilable(DateTimeFormatter formatter) {
+        assertNull(compile(formatter));
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="parseLocalDate")
+    Object[][] data_parseLocalDate() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-06-30", LocalDate.of(2012, 6, 30)},
+            {DateTimeFormatter.ISO_LOCAL_DATE, "2012-02-29", LocalDate.of(2012, 2, 29)},
+            {DateTimeFormatter.ISO_DATE, "2012-06-30+01:00", LocalDate.of(2012, 6, 30)},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30T11:05", LocalDate.of(2012, 6, 30)},
+            {DateTimeFormatter.BASIC_ISO_DATE, "20120630Z", LocalDate.of(2012, 6, 30)},
+            {DateTimeFormatter.ofPattern("d/M/yyyy"), "3/6/2012", LocalDate.of(2012, 6, 3)},
+        };
+    }
+
+    @Test(dataProvider="parseLocalDate")
+    public void test_parseLocalDate(DateTimeFormatter formatter, String text, LocalDate expected) {
+        assertEquals(compile(formatter).parseLocalDate(text, new CompiledParser.Values()), expected);
+        assertEquals(formatter.parseLocalDate(text), expected);
+    }
+
+    @DataProvider(name="parseLocalDateTime")
+    Object[][] data_parseLocalDateTime() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30T11:05", LocalDateTime.of(2012, 6, 30, 11, 5)},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30T11:05:30", LocalDateTime.of(2012, 6, 30, 11, 5, 30)},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30T11:05:30.5", LocalDateTime.of(2012, 6, 30, 11, 5, 30, 500000000)},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30T11:05:30.123456789", LocalDateTime.of(2012, 6, 30, 11, 5, 30, 123456789)},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-06-30T11:05:30-05:30", LocalDateTime.of(2012, 6, 30, 11, 5, 30)},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS"), "2012-06-30 11:05:30.120", LocalDateTime.of(2012, 6, 30, 11, 5, 30, 120000000)},
+            {DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm[:ss'x'][':45y']"), "2012-06-30 11:05:45y", LocalDateTime.of(2012, 6, 30, 11, 5)},
+        };
+    }
+
+    @Test(dataProvider="parseLocalDateTime")
+    public void test_parseLocalDateTime(DateTimeFormatter formatter, String text, LocalDateTime expected) {
+        assertEquals(compile(formatter).parseLocalDateTime(text, new CompiledParser.Values()), expected);
+        assertEquals(formatter.parseLocalDateTime(text), expected);
+    }
+
+    @DataProvider(name="parseInstant")
+    Object[][] data_parseInstant() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_INSTANT, "1970-01-01T00:00:00Z", Instant.ofEpochSecond(0)},
+            {DateTimeFormatter.ISO_INSTANT, "1969-12-31t23:59:59.12z", Instant.ofEpochSecond(-1, 120000000)},
+            {DateTimeFormatter.ISO_INSTANT, "0000-01-01T00:00:00Z", LocalDateTime.of(0, 1, 1, 0, 0).toInstant(ZoneOffset.UTC)},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-06-30T11:05:30+01:30", Instant.ofEpochSecond(1341048930L)},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-06-30T09:35:30.000001Z", Instant.ofEpochSecond(1341048930L, 1000)},
+        };
+    }
+
+    @Test(dataProvider="parseInstant")
+    public void test_parseInstant(DateTimeFormatter formatter, String text, Instant expected) {
+        assertEquals(compile(formatter).parseInstant(text, new CompiledParser.Values()), expected);
+        assertEquals(formatter.parseInstant(text), expected);
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="fallback")
+    Object[][] data_fallback() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-02-30T11:05"},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30T24:00"},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "+12345-06-30T11:05"},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30T11:05 "},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2012-06-30"},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2012-06-30T11:05+19:00"},
+            {DateTimeFormatter.ISO_INSTANT, "2012-06-30T23:59:60Z"},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withResolverStyle(ResolverStyle.STRICT), "2012-06-30 11:05"},
+        };
+    }
+
+    @Test(dataProvider="fallback")
+    public void test_parse_fallback(DateTimeFormatter formatter, String text) {
+        assertNull(compile(formatter).parseLocalDateTime(text, new CompiledParser.Values()));
+    }
+
+    public void test_parse_fallback_smartResolver() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        assertEquals(formatter.parseLocalDate("2012-02-30"), LocalDate.of(2012, 2, 29));
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_parse_fallback_strictResolver() {
+        DateTimeFormatter.ISO_LOCAL_DATE.parseLocalDate("2012-02-30");
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_parse_fallback_invalidText() {
+        DateTimeFormatter.ISO_INSTANT.parseInstant("2012-06-30T11:05:30");
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parseLocalDate_null() {
+        DateTimeFormatter.ISO_LOCAL_DATE.parseLocalDate(null);
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.Year;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.chrono.ThaiBuddhistChronology;
+import org.threeten.bp.temporal.TemporalAccessor;
+
+/**
+ * Test CompiledPrinter.
+ */
+@Test
+public class TestCompiledPrinter {
+
+    private static final ZoneOffset OFFSET_P0130 = ZoneOffset.ofHoursMinutes(1, 30);
+    private static final ZoneOffset OFFSET_M0530 = ZoneOffset.ofHoursMinutes(-5, -30);
+
+    private static CompiledPrinter compile(DateTimeFormatter formatter) {
+        return CompiledPrinter.compile(formatter.toPrinterParser(false), formatter.getDecimalStyle(),
+                formatter.getChronology(), formatter.getZone());
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="compilable")
+    Object[][] data_compilable() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE},
+            {DateTimeFormatter.ISO_LOCAL_TIME},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME},
+            {DateTimeFormatter.ISO_OFFSET_DATE},
+            {DateTimeFormatter.ISO_OFFSET_TIME},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME},
+            {DateTimeFormatter.ISO_DATE},
+            {DateTimeFormatter.ISO_TIME},
+            {DateTimeFormatter.ISO_INSTANT},
+            {DateTimeFormatter.BASIC_ISO_DATE},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")},
+        };
+    }
+
+    @Test(dataProvider="compilable")
+    public void test_compile(DateTimeFormatter formatter) {
+        assertNotNull(compile(formatter));
+    }
+
+    @DataProvider(name="notCompilable")
+    Object[][] data_notCompilable() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME},
+            {DateTimeFormatter.RFC_1123_DATE_TIME},
+            {DateTimeFormatter.ofPattern("dd MMM yyyy")},
+            {DateTimeFormatter.ofPattern("yy-MM-dd")},
+            {DateTimeFormatter.ISO_LOCAL_DATE.withZone(OFFSET_P0130)},
+            {DateTimeFormatter.ISO_LOCAL_DATE.withChronology(ThaiBuddhistChronology.INSTANCE)},
+            {DateTimeFormatter.ISO_LOCAL_DATE.withDecimalStyle(DecimalStyle.STANDARD.withZeroDigit('٠'))},
+        };
+    }
+
+    @Test(dataProvider="notCompilable")
+    public void test_compile_notCompilable(DateTimeFormatter formatter) {
+        assertNull(compile(formatter));
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="print")
+    Object[][] data_print() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE, LocalDate.of(2012, 6, 30), "2012-06-30"},
+            {DateTimeFormatter.ISO_LOCAL_DATE, LocalDate.of(-1, 1, 2), "-0001-01-02"},
+            {DateTimeFormatter.ISO_LOCAL_DATE, LocalDate.of(12345, 1, 2), "+12345-01-02"},
+            {DateTimeFormatter.ISO_LOCAL_DATE, LocalDateTime.of(2012, 6, 30, 11, 5), "2012-06-30"},
+            {DateTimeFormatter.ISO_LOCAL_TIME, LocalTime.of(11, 5), "11:05:00"},
+            {DateTimeFormatter.ISO_LOCAL_TIME, LocalTime.of(11, 5, 30, 500000000), "11:05:30.5"},
+            {DateTimeFormatter.ISO_LOCAL_TIME, LocalTime.of(11, 5, 30, 1), "11:05:30.000000001"},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime.of(2012, 6, 30, 11, 5, 30, 123000), "2012-06-30T11:05:30.000123"},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime.of(2012, 6, 30, 11, 5, 30, 0, OFFSET_P0130), "2012-06-30T11:05:30+01:30"},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime.of(2012, 6, 30, 11, 5, 30, 0, OFFSET_M0530), "2012-06-30T11:05:30-05:30"},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime.of(2012, 6, 30, 11, 5, 30, 0, ZoneOffset.UTC), "2012-06-30T11:05:30Z"},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime.of(2012, 6, 30, 11, 5, 30, 0, ZoneOffset.UTC).atZoneSameInstant(OFFSET_P0130), "2012-06-30T12:35:30+01:30"},
+            {DateTimeFormatter.ISO_INSTANT, Instant.ofEpochSecond(0), "1970-01-01T00:00:00Z"},
+            {DateTimeFormatter.ISO_INSTANT, Instant.ofEpochSecond(-1, 120000000), "1969-12-31T23:59:59.120Z"},
+            {DateTimeFormatter.ISO_INSTANT, Instant.ofEpochSecond(951782400L, 123456789), "2000-02-29T00:00:00.123456789Z"},
+            {DateTimeFormatter.ISO_INSTANT, LocalDate.of(0, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC), "0000-01-01T00:00:00Z"},
+            {DateTimeFormatter.ISO_INSTANT, LocalDate.of(9999, 12, 31).atTime(23, 59, 59).toInstant(ZoneOffset.UTC), "9999-12-31T23:59:59Z"},
+            {DateTimeFormatter.ISO_INSTANT, OffsetDateTime.of(2012, 6, 30, 11, 5, 30, 0, OFFSET_P0130), "2012-06-30T09:35:30Z"},
+            {DateTimeFormatter.ISO_DATE, LocalDate.of(2012, 6, 30), "2012-06-30"},
+            {DateTimeFormatter.ISO_DATE, OffsetDateTime.of(2012, 6, 30, 11, 5, 30, 0, OFFSET_P0130), "2012-06-30+01:30"},
+            {DateTimeFormatter.BASIC_ISO_DATE, LocalDate.of(2012, 6, 30), "20120630"},
+            {DateTimeFormatter.BASIC_ISO_DATE, OffsetDateTime.of(2012, 6, 30, 11, 5, 30, 0, OFFSET_M0530), "20120630-0530"},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS"), LocalDateTime.of(2012, 6, 30, 11, 5, 30, 123456789), "2012-06-30 11:05:30.123"},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS"), LocalDateTime.of(-5, 6, 30, 11, 5, 30), "0006-06-30 11:05:30.000"},
+        };
+    }
+
+    @Test(dataProvider="print")
+    public void test_print(DateTimeFormatter formatter, TemporalAccessor temporal, String expected) {
+        StringBuilder buf = new StringBuilder("EXISTING");
+        assertEquals(compile(formatter).print(temporal, buf), true);
+        assertEquals(buf.toString(), "EXISTING" + expected);
+        assertEquals(formatter.format(temporal), expected);
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="fallback")
+    Object[][] data_fallback() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE, LocalTime.of(11, 5)},
+            {DateTimeFormatter.ISO_LOCAL_DATE, Year.of(2012)},
+            {DateTimeFormatter.ISO_OFFSET_DATE_TIME, LocalDateTime.of(2012, 6, 30, 11, 5)},
+            {DateTimeFormatter.ISO_INSTANT, LocalDateTime.of(2012, 6, 30, 11, 5)},
+            {DateTimeFormatter.ISO_INSTANT, LocalDate.of(10000, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC)},
+            {DateTimeFormatter.ISO_INSTANT, LocalDate.of(-1, 12, 31).atStartOfDay().toInstant(ZoneOffset.UTC)},
+            {DateTimeFormatter.BASIC_ISO_DATE, LocalDate.of(12345, 1, 2)},
+        };
+    }
+
+    @Test(dataProvider="fallback")
+    public void test_print_fallback(DateTimeFormatter formatter, TemporalAccessor temporal) {
+        StringBuilder buf = new StringBuilder("EXISTING");
+        assertEquals(compile(formatter).print(temporal, buf), false);
+        assertEquals(buf.toString(), "EXISTING");
+    }
+
+}
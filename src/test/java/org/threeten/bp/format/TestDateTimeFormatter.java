@@ -34,21 +34,31 @@ package org.threeten.bp.format;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.util.Arrays;
 import java.util.Locale;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
 import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
 import org.threeten.bp.YearMonth;
 import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
 import org.threeten.bp.ZonedDateTime;
 import org.threeten.bp.temporal.TemporalAccessor;
 import org.threeten.bp.temporal.TemporalQuery;
@@ -147,6 +157,90 @@ public class TestDateTimeFormatter {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_formatTo_byteArray() throws Exception {
+        byte[] buf = new byte[16];
+        Arrays.fill(buf, (byte) '#');
+        int length = DATE_FORMATTER.formatTo(LocalDate.of(2012, 7, 27), buf, 0);
+        assertEquals(length, 13);
+        assertEquals(new String(buf, "US-ASCII"), "ONE2012 07 27###");
+    }
+
+    @Test
+    public void test_formatTo_byteArray_offset() throws Exception {
+        byte[] buf = new byte[10];
+        Arrays.fill(buf, (byte) '#');
+        int length = fmt.formatTo(LocalDate.of(2008, 6, 30), buf, 3);
+        assertEquals(length, 5);
+        assertEquals(new String(buf, "US-ASCII"), "###ONE30##");
+    }
+
+    @Test
+    public void test_formatTo_byteArray_doesNotFit() throws Exception {
+        byte[] buf = new byte[6];
+        Arrays.fill(buf, (byte) '#');
+        try {
+            fmt.formatTo(LocalDate.of(2008, 6, 30), buf, 2);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            assertEquals(new String(buf, "US-ASCII"), "######");
+        }
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_formatTo_byteArray_negativeOffset() throws Exception {
+        fmt.formatTo(LocalDate.of(2008, 6, 30), new byte[10], -1);
+    }
+
+    @Test
+    public void test_formatTo_byteArray_notAscii() throws Exception {
+        DateTimeFormatter test = DateTimeFormatter.ofPattern("dd'\u00e9'MM");
+        byte[] buf = new byte[10];
+        try {
+            test.formatTo(LocalDate.of(2008, 6, 30), buf, 0);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(buf, new byte[10]);
+        }
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_formatTo_byteArray_nullArray() throws Exception {
+        fmt.formatTo(LocalDate.of(2008, 6, 30), (byte[]) null, 0);
+    }
+
+    @Test
+    public void test_formatTo_ByteBuffer() throws Exception {
+        ByteBuffer buf = ByteBuffer.allocate(20);
+        buf.put((byte) '>');
+        int length = DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(LocalDateTime.of(2012, 7, 27, 11, 30), buf);
+        assertEquals(length, 19);
+        assertEquals(buf.position(), 20);
+        assertEquals(new String(buf.array(), 0, 20, "US-ASCII"), ">2012-07-27T11:30:00");
+    }
+
+    @Test
+    public void test_formatTo_ByteBuffer_overflow() throws Exception {
+        ByteBuffer buf = ByteBuffer.allocate(4);
+        try {
+            fmt.formatTo(LocalDate.of(2008, 6, 30), buf);
+            fail();
+        } catch (BufferOverflowException ex) {
+            assertEquals(buf.position(), 0);
+        }
+    }
+
+    @Test(expectedExceptions=ReadOnlyBufferException.class)
+    public void test_formatTo_ByteBuffer_readOnly() throws Exception {
+        fmt.formatTo(LocalDate.of(2008, 6, 30), ByteBuffer.allocate(10).asReadOnlyBuffer());
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_formatTo_ByteBuffer_nullTemporal() throws Exception {
+        fmt.formatTo((TemporalAccessor) null, ByteBuffer.allocate(10));
+    }
+
     //-----------------------------------------------------------------------
     // parse(Class)
     //-----------------------------------------------------------------------
@@ -162,6 +256,64 @@ public class TestDateTimeFormatter {
         assertEquals(result, LocalDate.of(2012, 7, 27));
     }
 
+    @Test
+    public void test_parse_Class_CharBuffer() throws Exception {
+        CharBuffer buf = CharBuffer.wrap("xxONE2012 07 27xx".toCharArray(), 2, 13);
+        LocalDate result = DATE_FORMATTER.parse(buf, LocalDate.FROM);
+        assertEquals(result, LocalDate.of(2012, 7, 27));
+    }
+
+    @Test
+    public void test_parse_Class_byteArray() throws Exception {
+        byte[] bytes = "xxONE2012 07 27xx".getBytes("US-ASCII");
+        LocalDate result = DATE_FORMATTER.parse(bytes, 2, 13, LocalDate.FROM);
+        assertEquals(result, LocalDate.of(2012, 7, 27));
+    }
+
+    @Test
+    public void test_parse_Class_byteArray_zone() throws Exception {
+        byte[] bytes = "2012-07-27T11:30:40.5+02:00[Europe/Paris]".getBytes("US-ASCII");
+        ZonedDateTime result = DateTimeFormatter.ISO_ZONED_DATE_TIME.parse(bytes, 0, bytes.length, ZonedDateTime.FROM);
+        assertEquals(result, ZonedDateTime.of(2012, 7, 27, 11, 30, 40, 500000000, ZoneId.of("Europe/Paris")));
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_parse_Class_byteArray_parseError() throws Exception {
+        byte[] bytes = "ONE2012 07 \u00c3\u00a9".getBytes("ISO-8859-1");
+        try {
+            DATE_FORMATTER.parse(bytes, 0, bytes.length, LocalDate.FROM);
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getParsedString(), "ONE2012 07 \ufffd\ufffd");
+            assertEquals(ex.getErrorIndex(), 11);
+            throw ex;
+        }
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_parse_Class_byteArray_badRange() throws Exception {
+        DATE_FORMATTER.parse(new byte[10], 5, 6, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_Class_byteArray_nullText() throws Exception {
+        DATE_FORMATTER.parse((byte[]) null, 0, 0, LocalDate.FROM);
+    }
+
+    @Test
+    public void test_parse_Class_ByteBuffer() throws Exception {
+        ByteBuffer buf = ByteBuffer.allocateDirect(20);
+        buf.put("xxONE2012 07 27xx".getBytes("US-ASCII"));
+        buf.position(2).limit(15);
+        LocalDate result = DATE_FORMATTER.parse(buf, LocalDate.FROM);
+        assertEquals(result, LocalDate.of(2012, 7, 27));
+        assertEquals(buf.position(), 2);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_Class_ByteBuffer_nullText() throws Exception {
+        DATE_FORMATTER.parse((ByteBuffer) null, LocalDate.FROM);
+    }
+
     @Test(expectedExceptions=DateTimeParseException.class)
     public void test_parse_Class_String_parseError() throws Exception {
         try {
@@ -212,6 +364,91 @@ public class TestDateTimeFormatter {
         test.parse("30", (TemporalQuery<?>) null);
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_tryParse() throws Exception {
+        assertEquals(DATE_FORMATTER.tryParse("ONE2012 07 27", LocalDate.FROM), LocalDate.of(2012, 7, 27));
+    }
+
+    @Test
+    public void test_tryParse_failures() throws Exception {
+        assertNull(DATE_FORMATTER.tryParse("ONE2012 07 XX", LocalDate.FROM));
+        assertNull(DATE_FORMATTER.tryParse("ONE2012 07 27SomethingElse", LocalDate.FROM));
+        assertNull(DATE_FORMATTER.tryParse("ONE2012 13 27", LocalDate.FROM));
+        assertNull(DATE_FORMATTER.tryParse("ONE2012 07 27", LocalTime.FROM));
+        assertNull(DATE_FORMATTER.tryParse("ONE2012 07 27", ZonedDateTime.FROM));
+        assertNull(DateTimeFormatter.ISO_LOCAL_DATE.tryParse("2012-02-30", LocalDate.FROM));
+    }
+
+    @Test
+    public void test_tryParse_ParsePosition() throws Exception {
+        ParsePosition pos = new ParsePosition(3);
+        LocalDate result = DATE_FORMATTER.tryParse("XXXONE2012 07 27YYY", pos, LocalDate.FROM);
+        assertEquals(result, LocalDate.of(2012, 7, 27));
+        assertEquals(pos.getIndex(), 16);
+        assertEquals(pos.getErrorIndex(), -1);
+    }
+
+    @Test
+    public void test_tryParse_ParsePosition_parseError() throws Exception {
+        ParsePosition pos = new ParsePosition(3);
+        assertNull(DATE_FORMATTER.tryParse("XXXONE2012 07 XX", pos, LocalDate.FROM));
+        assertEquals(pos.getIndex(), 3);
+        assertEquals(pos.getErrorIndex(), 14);
+    }
+
+    @Test
+    public void test_tryParse_ParsePosition_resolveError() throws Exception {
+        ParsePosition pos = new ParsePosition(3);
+        assertNull(DATE_FORMATTER.tryParse("XXXONE2012 07 27", pos, LocalTime.FROM));
+        assertEquals(pos.getIndex(), 3);
+        assertEquals(pos.getErrorIndex(), 3);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_tryParse_ParsePosition_invalidPosition() throws Exception {
+        DATE_FORMATTER.tryParse("ONE2012 07 27", new ParsePosition(20), LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_tryParse_nullText() throws Exception {
+        DATE_FORMATTER.tryParse((String) null, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_tryParse_nullQuery() throws Exception {
+        DATE_FORMATTER.tryParse("ONE2012 07 27", (TemporalQuery<?>) null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_tryParse_ParsePosition_nullPosition() throws Exception {
+        DATE_FORMATTER.tryParse("ONE2012 07 27", null, LocalDate.FROM);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_parseBest_standardQueries() throws Exception {
+        DateTimeFormatter test = DateTimeFormatter.ofPattern("uuuu-MM-dd['T'HH:mm[XXX]]");
+        assertEquals(test.parseBest("2011-06-30", ZonedDateTime.FROM, OffsetDateTime.FROM, LocalDateTime.FROM, LocalDate.FROM),
+                LocalDate.of(2011, 6, 30));
+        assertEquals(test.parseBest("2011-06-30T11:30", Instant.FROM, ZonedDateTime.FROM, LocalDateTime.FROM, LocalDate.FROM),
+                LocalDateTime.of(2011, 6, 30, 11, 30));
+        assertEquals(test.parseBest("2011-06-30T11:30Z", ZonedDateTime.FROM, LocalDateTime.FROM),
+                ZonedDateTime.of(2011, 6, 30, 11, 30, 0, 0, ZoneOffset.UTC));
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_parseBest_noQueryMatches() throws Exception {
+        DateTimeFormatter test = DateTimeFormatter.ofPattern("uuuu-MM");
+        try {
+            test.parseBest("2011-06", LocalDate.FROM, LocalTime.FROM);
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getMessage().contains("Unable to convert parsed text to any specified type"), true);
+            assertEquals(ex.getErrorIndex(), 0);
+            throw ex;
+        }
+    }
+
     //-----------------------------------------------------------------------
     @Test
     public void test_parseBest_firstOption() throws Exception {
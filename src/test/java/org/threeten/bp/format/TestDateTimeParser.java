@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.BitSet;
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.temporal.IsoFields;
+
+/**
+ * Test DateTimeParser.
+ */
+@Test
+public class TestDateTimeParser {
+
+    public void test_getFormatter() {
+        DateTimeParser test = DateTimeFormatter.ISO_LOCAL_DATE.newParser();
+        assertSame(test.getFormatter(), DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="reuse")
+    Object[][] data_reuse() {
+        DateTimeFormatter optional = DateTimeFormatter.ofPattern("dd MMM yyyy[ HH:mm[:ss]]", Locale.ENGLISH);
+        return new Object[][] {
+            {optional, new String[] {"30 Jun 2012 11:05:30", "01 Jul 2012", "02 Jul 2012 13:00", "03 Jul 2012"}},
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME, new String[] {"2012-06-30T11:05", "2012-06-30T11:05:30.123", "2012-07-01T00:00"}},
+            {DateTimeFormatter.ISO_ZONED_DATE_TIME, new String[] {"2012-06-30T11:05+01:00[Europe/Paris]", "2012-06-30T11:05Z"}},
+            {DateTimeFormatter.ISO_WEEK_DATE, new String[] {"2012-W26-6", "2012-W27-1"}},
+        };
+    }
+
+    @Test(dataProvider="reuse")
+    public void test_parse_reuse(DateTimeFormatter formatter, String[] texts) {
+        DateTimeParser test = formatter.newParser();
+        for (int i = 0; i < 2; i++) {
+            for (String text : texts) {
+                assertEquals(test.parse(text, LocalDate.FROM), formatter.parse(text, LocalDate.FROM));
+            }
+        }
+    }
+
+    public void test_parse_optionalSectionsClearedBetweenParses() {
+        DateTimeParser test = DateTimeFormatter.ofPattern("yyyy-MM-dd[ HH:mm]").newParser();
+        assertEquals(test.parse("2012-06-30 11:05", LocalDateTime.FROM), LocalDateTime.of(2012, 6, 30, 11, 5));
+        assertEquals(test.parse("2012-06-30", LocalDate.FROM), LocalDate.of(2012, 6, 30));
+        try {
+            test.parse("2012-06-30", LocalDateTime.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            // expected, time not parsed
+        }
+    }
+
+    public void test_parse_overflowFieldsClearedBetweenParses() {
+        DateTimeParser test = DateTimeFormatter.ofPattern("YYYY-'W'ww-e", Locale.UK).newParser();
+        DateTimeFormatter formatter = test.getFormatter();
+        assertEquals(test.parse("2012-W26-6", LocalDate.FROM), formatter.parse("2012-W26-6", LocalDate.FROM));
+        assertEquals(test.parse("2013-W01-1", LocalDate.FROM), formatter.parse("2013-W01-1", LocalDate.FROM));
+        assertEquals(DateTimeFormatter.ISO_WEEK_DATE.newParser().parse("2012-W26-6", LocalDate.FROM).get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), 26);
+    }
+
+    public void test_parse_caseInsensitiveResetBetweenParses() {
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
+                .appendLiteral('T').parseCaseInsensitive().appendLiteral('Z').toFormatter();
+        DateTimeParser test = formatter.newParser();
+        for (int i = 0; i < 2; i++) {
+            try {
+                test.parse("tz", LocalDate.FROM);
+                fail();
+            } catch (DateTimeParseException ex) {
+                assertEquals(ex.getErrorIndex(), 0);
+            }
+        }
+    }
+
+    public void test_parse_errorThenSuccess() {
+        DateTimeParser test = DateTimeFormatter.ISO_OFFSET_DATE_TIME.newParser();
+        try {
+            test.parse("2012-06-30T11:05+01:00 extra", OffsetDateTime.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getErrorIndex(), 22);
+        }
+        try {
+            test.parse("2012-02-30T11:05+01:00", OffsetDateTime.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getErrorIndex(), 0);
+        }
+        assertEquals(test.parse("2012-06-30T11:05+01:00", OffsetDateTime.FROM),
+                OffsetDateTime.of(2012, 6, 30, 11, 5, 0, 0, ZoneOffset.ofHours(1)));
+        assertEquals(test.parse("2012-06-30T11:05Z", ZonedDateTime.FROM),
+                ZonedDateTime.of(2012, 6, 30, 11, 5, 0, 0, ZoneOffset.UTC));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parseLocalDate() {
+        DateTimeParser test = DateTimeFormatter.ISO_LOCAL_DATE.newParser();
+        assertEquals(test.parseLocalDate("2012-06-30"), LocalDate.of(2012, 6, 30));
+        assertEquals(test.parseLocalDate("+12345-06-30"), LocalDate.of(12345, 6, 30));
+        assertEquals(test.parseLocalDate("2012-07-01"), LocalDate.of(2012, 7, 1));
+    }
+
+    public void test_parseLocalDateTime() {
+        DateTimeParser test = DateTimeFormatter.ISO_LOCAL_DATE_TIME.withResolverStyle(ResolverStyle.SMART).newParser();
+        assertEquals(test.parseLocalDateTime("2012-06-30T11:05:30.5"), LocalDateTime.of(2012, 6, 30, 11, 5, 30, 500000000));
+        assertEquals(test.parseLocalDateTime("2012-06-30T24:00"), LocalDateTime.of(2012, 7, 1, 0, 0));
+        assertEquals(test.parseLocalDateTime("2012-06-30T11:05"), LocalDateTime.of(2012, 6, 30, 11, 5));
+    }
+
+    public void test_parseInstant() {
+        DateTimeParser test = DateTimeFormatter.ISO_INSTANT.newParser();
+        assertEquals(test.parseInstant("1970-01-01T00:00:01.5Z"), Instant.ofEpochSecond(1, 500000000));
+        assertEquals(test.parseInstant("1970-01-01T00:00:00Z"), Instant.EPOCH);
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_parseLocalDate_invalid() {
+        DateTimeFormatter.ISO_LOCAL_DATE.newParser().parseLocalDate("2012-02-30");
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parseToEpochSeconds() {
+        CharSequence[] texts = {"1970-01-01T00:00:01.5Z", "rubbish", null, "2012-06-30T12:30:40Z", "2012-02-30T00:00:00Z"};
+        long[] secs = new long[] {9, 9, 9, 9, 9};
+        int[] nanos = new int[] {9, 9, 9, 9, 9};
+        BitSet errors = DateTimeFormatter.ISO_INSTANT.parseToEpochSeconds(texts, secs, nanos);
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(2);
+        expected.set(4);
+        assertEquals(errors, expected);
+        assertEquals(secs, new long[] {1, 0, 0, 1341059440L, 0});
+        assertEquals(nanos, new int[] {500000000, 0, 0, 0, 0});
+    }
+
+    public void test_parseToEpochSeconds_overrideZone() {
+        DateTimeFormatter f = DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneId.of("Europe/Paris"));
+        CharSequence[] texts = {"2012-06-30T12:30:40", "2012-06-30"};
+        long[] secs = new long[2];
+        BitSet errors = f.newParser().parseToEpochSeconds(texts, secs, null);
+        assertEquals(errors.cardinality(), 1);
+        assertEquals(errors.get(1), true);
+        assertEquals(secs[0], 1341052240L);
+    }
+
+    public void test_parseToEpochSeconds_noInstant() {
+        CharSequence[] texts = {"2012-06-30T12:30:40"};
+        long[] secs = new long[1];
+        BitSet errors = DateTimeFormatter.ISO_LOCAL_DATE_TIME.parseToEpochSeconds(texts, secs, null);
+        assertEquals(errors.get(0), true);
+    }
+
+    public void test_parseToEpochDays() {
+        DateTimeFormatter pattern = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+        CharSequence[] texts = {"01 Jan 1970", "30 Jun 2012", "32 Jun 2012", "", "30 Jun 2012x"};
+        long[] days = new long[6];
+        BitSet errors = pattern.parseToEpochDays(texts, days);
+        assertEquals(errors.cardinality(), 3);
+        assertEquals(errors.nextSetBit(0), 2);
+        assertEquals(days, new long[] {0, 15521, 0, 0, 0, 0});
+
+        errors = DateTimeFormatter.ISO_LOCAL_DATE.parseToEpochDays(new CharSequence[] {"2012-06-30", "2012-13-01"}, days);
+        assertEquals(errors.cardinality(), 1);
+        assertEquals(errors.get(1), true);
+        assertEquals(days[0], 15521);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_parseToEpochDays_shortOutput() {
+        DateTimeFormatter.ISO_LOCAL_DATE.parseToEpochDays(new CharSequence[] {"2012-06-30", "2012-07-01"}, new long[1]);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_parseToEpochSeconds_shortNanos() {
+        DateTimeFormatter.ISO_INSTANT.parseToEpochSeconds(new CharSequence[] {"1970-01-01T00:00:00Z"}, new long[1], new int[0]);
+    }
+
+    public void test_tryParse() {
+        DateTimeParser test = DateTimeFormatter.ISO_OFFSET_DATE_TIME.newParser();
+        assertNull(test.tryParse("2012-06-30T11:05+01:00 extra", OffsetDateTime.FROM));
+        assertNull(test.tryParse("2012-02-30T11:05+01:00", OffsetDateTime.FROM));
+        assertEquals(test.tryParse("2012-06-30T11:05+01:00", ZonedDateTime.FROM),
+                ZonedDateTime.of(2012, 6, 30, 11, 5, 0, 0, ZoneOffset.ofHours(1)));
+        assertEquals(test.tryParse("2012-06-30T11:05+01:00", LocalTime.FROM), LocalTime.of(11, 5));
+        assertEquals(test.tryParse("2012-06-30T11:05+01:00", OffsetDateTime.FROM),
+                OffsetDateTime.of(2012, 6, 30, 11, 5, 0, 0, ZoneOffset.ofHours(1)));
+        assertEquals(test.tryParse("2012-06-30T11:05Z", Instant.FROM), Instant.ofEpochSecond(1341054300L));
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_tryParse_nullText() {
+        DateTimeFormatter.ISO_LOCAL_DATE.newParser().tryParse(null, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_nullText() {
+        DateTimeFormatter.ISO_LOCAL_DATE.newParser().parse(null, LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_parse_nullQuery() {
+        DateTimeFormatter.ISO_LOCAL_DATE.newParser().parse("2012-06-30", null);
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
+import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+import static org.threeten.bp.temporal.ChronoField.YEAR;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.IsoFields;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * Test FieldValueMap.
+ */
+@Test
+public class TestFieldValueMap {
+
+    public void test_empty() {
+        FieldValueMap test = new FieldValueMap();
+        assertEquals(test.size(), 0);
+        assertTrue(test.isEmpty());
+        assertFalse(test.containsKey(YEAR));
+        assertNull(test.get(YEAR));
+        assertNull(test.get(IsoFields.QUARTER_OF_YEAR));
+        assertFalse(test.entrySet().iterator().hasNext());
+    }
+
+    public void test_putValue_getValue() {
+        FieldValueMap test = new FieldValueMap();
+        assertFalse(test.putValue(YEAR, 2012L));
+        assertFalse(test.putValue(IsoFields.QUARTER_OF_YEAR, 2L));
+        assertTrue(test.contains(YEAR));
+        assertEquals(test.getValue(YEAR), 2012L);
+        assertEquals(test.getValue(IsoFields.QUARTER_OF_YEAR), 2L);
+        assertEquals(test.get(YEAR), Long.valueOf(2012L));
+        assertEquals(test.size(), 2);
+    }
+
+    public void test_putValue_conflict() {
+        FieldValueMap test = new FieldValueMap();
+        test.putValue(YEAR, 2012L);
+        test.putValue(IsoFields.QUARTER_OF_YEAR, 2L);
+        assertFalse(test.putValue(YEAR, 2012L));
+        assertFalse(test.putValue(IsoFields.QUARTER_OF_YEAR, 2L));
+        assertTrue(test.putValue(YEAR, 2013L));
+        assertTrue(test.putValue(IsoFields.QUARTER_OF_YEAR, 3L));
+        assertEquals(test.getValue(YEAR), 2013L);
+        assertEquals(test.getValue(IsoFields.QUARTER_OF_YEAR), 3L);
+    }
+
+    public void test_put_remove() {
+        FieldValueMap test = new FieldValueMap();
+        assertNull(test.put(YEAR, 2012L));
+        assertEquals(test.put(YEAR, 2013L), Long.valueOf(2012L));
+        assertNull(test.put(IsoFields.QUARTER_OF_YEAR, 2L));
+        assertEquals(test.remove(YEAR), Long.valueOf(2013L));
+        assertNull(test.remove(YEAR));
+        assertEquals(test.remove(IsoFields.QUARTER_OF_YEAR), Long.valueOf(2L));
+        assertTrue(test.isEmpty());
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_put_nullValue() {
+        new FieldValueMap().put(YEAR, null);
+    }
+
+    public void test_equalsHashMap() {
+        FieldValueMap test = new FieldValueMap();
+        Map<TemporalField, Long> expected = new HashMap<TemporalField, Long>();
+        for (TemporalField field : Arrays.<TemporalField>asList(NANO_OF_SECOND, YEAR, IsoFields.QUARTER_OF_YEAR, DAY_OF_MONTH)) {
+            test.put(field, 6L);
+            expected.put(field, 6L);
+        }
+        assertEquals(test, expected);
+        assertEquals(expected, test);
+        assertEquals(test.hashCode(), expected.hashCode());
+        assertEquals(test.keySet(), expected.keySet());
+    }
+
+    public void test_iterator_remove() {
+        FieldValueMap test = new FieldValueMap();
+        test.put(YEAR, 2012L);
+        test.put(MONTH_OF_YEAR, 6L);
+        test.put(IsoFields.QUARTER_OF_YEAR, 2L);
+        Iterator<Map.Entry<TemporalField, Long>> it = test.entrySet().iterator();
+        while (it.hasNext()) {
+            TemporalField field = it.next().getKey();
+            if (field != MONTH_OF_YEAR) {
+                it.remove();
+            }
+        }
+        assertEquals(test.size(), 1);
+        assertEquals(test.get(MONTH_OF_YEAR), Long.valueOf(6L));
+    }
+
+    public void test_keySet_retainAll() {
+        FieldValueMap test = new FieldValueMap();
+        test.put(YEAR, 2012L);
+        test.put(MONTH_OF_YEAR, 6L);
+        test.put(IsoFields.QUARTER_OF_YEAR, 2L);
+        test.keySet().retainAll(new HashSet<TemporalField>(Arrays.<TemporalField>asList(YEAR, IsoFields.QUARTER_OF_YEAR)));
+        assertEquals(test.keySet(), new HashSet<TemporalField>(Arrays.<TemporalField>asList(YEAR, IsoFields.QUARTER_OF_YEAR)));
+    }
+
+    public void test_entry_setValue() {
+        FieldValueMap test = new FieldValueMap();
+        test.put(YEAR, 2012L);
+        Map.Entry<TemporalField, Long> entry = test.entrySet().iterator().next();
+        assertEquals(entry.setValue(2013L), Long.valueOf(2012L));
+        assertEquals(test.get(YEAR), Long.valueOf(2013L));
+    }
+
+    public void test_putAll_copies() {
+        FieldValueMap base = new FieldValueMap();
+        base.put(YEAR, 2012L);
+        base.put(IsoFields.QUARTER_OF_YEAR, 2L);
+        FieldValueMap test = new FieldValueMap();
+        test.put(MONTH_OF_YEAR, 6L);
+        test.put(YEAR, 2000L);
+        test.putAll(base);
+        assertEquals(test.size(), 3);
+        assertEquals(test.get(YEAR), Long.valueOf(2012L));
+        base.put(IsoFields.QUARTER_OF_YEAR, 3L);
+        assertEquals(test.get(IsoFields.QUARTER_OF_YEAR), Long.valueOf(2L));
+    }
+
+    public void test_toString() {
+        FieldValueMap test = new FieldValueMap();
+        test.put(MONTH_OF_YEAR, 6L);
+        test.put(YEAR, 2012L);
+        assertEquals(test.toString(), "{MonthOfYear=6, Year=2012}");
+    }
+
+}
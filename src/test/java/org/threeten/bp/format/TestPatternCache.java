@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.util.Locale;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
+
+/**
+ * Test PatternCache.
+ */
+@Test
+public class TestPatternCache {
+
+    //-----------------------------------------------------------------------
+    public void test_get_sharedInstance() {
+        PatternCache test = new PatternCache(4);
+        DateTimeFormatter f = test.get("yyyy-MM-dd", Locale.ENGLISH);
+        assertEquals(f.format(LocalDate.of(2012, 6, 30)), "2012-06-30");
+        assertEquals(f.getLocale(), Locale.ENGLISH);
+        assertSame(test.get("yyyy-MM-dd", Locale.ENGLISH), f);
+        assertEquals(test.getMissCount(), 1);
+        assertEquals(test.getHitCount(), 1);
+        assertEquals(test.size(), 1);
+    }
+
+    public void test_get_keyedByLocale() {
+        PatternCache test = new PatternCache(4);
+        DateTimeFormatter english = test.get("d MMMM", Locale.ENGLISH);
+        DateTimeFormatter french = test.get("d MMMM", Locale.FRENCH);
+        assertNotSame(english, french);
+        assertEquals(french.getLocale(), Locale.FRENCH);
+        assertEquals(test.getMissCount(), 2);
+        assertEquals(test.getHitCount(), 0);
+    }
+
+    public void test_get_evictsLeastRecentlyUsed() {
+        PatternCache test = new PatternCache(2);
+        DateTimeFormatter first = test.get("yyyy", Locale.ENGLISH);
+        DateTimeFormatter second = test.get("MM", Locale.ENGLISH);
+        assertSame(test.get("yyyy", Locale.ENGLISH), first);
+        test.get("dd", Locale.ENGLISH);
+        assertEquals(test.size(), 2);
+        assertSame(test.get("yyyy", Locale.ENGLISH), first);
+        assertNotSame(test.get("MM", Locale.ENGLISH), second);
+        assertEquals(test.getMaximumSize(), 2);
+    }
+
+    public void test_get_churnBeyondMaximumSize() {
+        PatternCache test = new PatternCache(8);
+        DateTimeFormatter hot = test.get("yyyy", Locale.ENGLISH);
+        for (int i = 0; i < 1000; i++) {
+            test.get("yyyy'" + i + "'", Locale.ENGLISH);
+            assertSame(test.get("yyyy", Locale.ENGLISH), hot);
+            assertEquals(test.size() <= 8, true);
+        }
+        assertEquals(test.size(), 8);
+        assertEquals(test.getMissCount(), 1001);
+        assertEquals(test.getHitCount(), 1000);
+        for (int i = 993; i < 1000; i++) {
+            test.get("yyyy'" + i + "'", Locale.ENGLISH);
+        }
+        assertEquals(test.getMissCount(), 1001);
+        test.get("yyyy'0'", Locale.ENGLISH);
+        assertEquals(test.getMissCount(), 1002);
+        assertEquals(test.size(), 8);
+    }
+
+    public void test_get_evictsInBatches() {
+        PatternCache test = new PatternCache(100);
+        DateTimeFormatter hot = test.get("yyyy", Locale.ENGLISH);
+        for (int i = 0; i < 99; i++) {
+            test.get("yyyy'" + i + "'", Locale.ENGLISH);
+        }
+        assertEquals(test.size(), 100);
+        assertSame(test.get("yyyy", Locale.ENGLISH), hot);
+        test.get("MM", Locale.ENGLISH);
+        assertEquals(test.size(), 90);
+        assertSame(test.get("yyyy", Locale.ENGLISH), hot);
+        assertEquals(test.getMissCount(), 101);
+    }
+
+    public void test_get_churnFromMultipleThreads() throws Exception {
+        final PatternCache test = new PatternCache(16);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final int offset = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 500; j++) {
+                        test.get("yyyy'" + (offset * 500 + j) + "'", Locale.ENGLISH);
+                        test.get("yyyy", Locale.ENGLISH);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(test.getHitCount() + test.getMissCount(), 4000);
+        assertEquals(test.size() <= 16 + threads.length, true);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_get_invalidPattern() {
+        PatternCache test = new PatternCache(4);
+        try {
+            test.get("yyyy-{", Locale.ENGLISH);
+        } finally {
+            assertEquals(test.size(), 0);
+        }
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_get_nullPattern() {
+        new PatternCache(4).get(null, Locale.ENGLISH);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_get_nullLocale() {
+        new PatternCache(4).get("yyyy", null);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_constructor_zeroSize() {
+        new PatternCache(0);
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.Locale;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.threeten.bp.chrono.IsoChronology;
+
+/**
+ * Test PrefixTree.
+ */
+@Test
+public class TestPrefixTree {
+
+    private DateTimeParseContext context;
+    private PrefixTree<Long> tree;
+
+    @BeforeMethod
+    public void setUp() {
+        context = new DateTimeParseContext(Locale.ENGLISH, DecimalStyle.STANDARD, IsoChronology.INSTANCE);
+        tree = new PrefixTree<Long>();
+        tree.add("June", 6L);
+        tree.add("July", 7L);
+        tree.add("Jun", 60L);
+        tree.add("JUNE", 66L);
+        tree.add("June", 600L);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_match_longest() {
+        PrefixTree<Long> match = tree.match(context, "June 2012", 0);
+        assertEquals(match.getKey(), "June");
+        assertEquals(match.getValue(), Long.valueOf(6L));
+    }
+
+    public void test_match_shorter() {
+        PrefixTree<Long> match = tree.match(context, "XJunk", 1);
+        assertEquals(match.getKey(), "Jun");
+        assertEquals(match.getValue(), Long.valueOf(60L));
+    }
+
+    public void test_match_none() {
+        assertNull(tree.match(context, "Ju", 0));
+        assertNull(tree.match(context, "june", 0));
+        assertNull(tree.match(context, "June", 4));
+    }
+
+    public void test_match_caseSensitive() {
+        assertEquals(tree.match(context, "JUNE", 0).getValue(), Long.valueOf(66L));
+    }
+
+    public void test_match_caseInsensitive_firstAddedPreferred() {
+        context.setCaseSensitive(false);
+        assertEquals(tree.match(context, "june", 0).getValue(), Long.valueOf(6L));
+        assertEquals(tree.match(context, "JUNE", 0).getValue(), Long.valueOf(6L));
+        assertEquals(tree.match(context, "jUn", 0).getValue(), Long.valueOf(60L));
+    }
+
+    public void test_add_duplicateRetainsFirst() {
+        assertEquals(tree.add("July", 70L), false);
+        assertEquals(tree.match(context, "July", 0).getValue(), Long.valueOf(7L));
+    }
+
+    public void test_emptyKey() {
+        PrefixTree<Long> test = new PrefixTree<Long>();
+        test.add("", 0L);
+        assertEquals(test.match(context, "abc", 3).getKey(), "");
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.chrono.IsoChronology;
+import org.threeten.bp.format.DateTimeFormatterBuilder.ZoneTextPrinterParser;
+
+/**
+ * Test ZoneTextPrinterParser.
+ */
+@Test
+public class TestZoneTextPrinterParser extends AbstractTestPrinterParser {
+
+    private static final String AMERICA_DENVER = "America/Denver";
+    private static final ZoneId TIME_ZONE_DENVER = ZoneId.of(AMERICA_DENVER);
+
+    //-----------------------------------------------------------------------
+    public void test_print_summerAndWinter() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        TimeZone tz = TimeZone.getTimeZone("Europe/Paris");
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), tz.getDisplayName(true, TimeZone.LONG, Locale.ENGLISH));
+
+        buf.setLength(0);
+        ZonedDateTime winter = LocalDateTime.of(2011, 12, 30, 12, 30).atZone(ZoneId.of("Europe/Paris"));
+        pp.print(new DateTimePrintContext(winter, Locale.ENGLISH, DecimalStyle.STANDARD), buf);
+        assertEquals(buf.toString(), tz.getDisplayName(false, TimeZone.LONG, Locale.ENGLISH));
+    }
+
+    public void test_print_short() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.SHORT);
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), TimeZone.getTimeZone("Europe/Paris").getDisplayName(true, TimeZone.SHORT, Locale.ENGLISH));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parse_exactMatch_Denver() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        int result = pp.parse(parseContext, AMERICA_DENVER, 0);
+        assertEquals(result, AMERICA_DENVER.length());
+        assertEquals(parseContext.toParsed().zone, TIME_ZONE_DENVER);
+    }
+
+    public void test_parse_startStringMatch_Denver() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        int result = pp.parse(parseContext, "XX" + AMERICA_DENVER + "OTHER", 2);
+        assertEquals(result, AMERICA_DENVER.length() + 2);
+        assertEquals(parseContext.toParsed().zone, TIME_ZONE_DENVER);
+    }
+
+    public void test_parse_longestMatch() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        int result = pp.parse(parseContext, "Etc/GMT-10", 0);
+        assertEquals(result, 10);
+        assertEquals(parseContext.toParsed().zone, ZoneId.of("Etc/GMT-10"));
+    }
+
+    public void test_parse_displayName() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        String name = TimeZone.getTimeZone("Europe/Paris").getDisplayName(true, TimeZone.LONG, Locale.ENGLISH);
+        int result = pp.parse(parseContext, name + " 2011", 0);
+        assertEquals(result, name.length());
+        ZoneId parsed = parseContext.toParsed().zone;
+        assertEquals(TimeZone.getTimeZone(parsed.getId()).getDisplayName(true, TimeZone.LONG, Locale.ENGLISH), name);
+    }
+
+    public void test_parse_caseInsensitive() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        parseContext.setCaseSensitive(false);
+        int result = pp.parse(parseContext, "AMERICA/denver", 0);
+        assertEquals(result, AMERICA_DENVER.length());
+        assertEquals(parseContext.toParsed().zone, TIME_ZONE_DENVER);
+    }
+
+    public void test_parse_caseSensitive_noMatch() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        assertEquals(pp.parse(parseContext, "AMERICA/DENVER", 0), ~0);
+        assertEquals(pp.parse(parseContext, "", 0), ~0);
+        assertEquals(pp.parse(parseContext, "America/Denver", 15), ~15);
+    }
+
+    public void test_parse_repeated() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.SHORT);
+        for (int i = 0; i < 3; i++) {
+            parseContext = new DateTimeParseContext(Locale.ENGLISH, DecimalStyle.STANDARD, IsoChronology.INSTANCE);
+            assertEquals(pp.parse(parseContext, AMERICA_DENVER, 0), AMERICA_DENVER.length());
+            assertEquals(parseContext.toParsed().zone, TIME_ZONE_DENVER);
+        }
+    }
+
+}
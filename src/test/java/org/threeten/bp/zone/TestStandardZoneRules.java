@@ -35,12 +35,15 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -179,6 +182,21 @@ public class TestStandardZoneRules {
         assertEquals(test.getOffset(createInstant(2008, 10, 26, 1, 0, 0, 0, ZoneOffset.UTC)), OFFSET_ZERO);
     }
 
+    public void test_London_getOffset_allTransitions() {
+        // covers the range of the offset table and either side of it
+        ZoneRules test = europeLondon();
+        Instant end = createInstant(2105, 1, 1, ZoneOffset.UTC);
+        ZoneOffsetTransition trans = test.nextTransition(createInstant(1965, 1, 1, ZoneOffset.UTC));
+        while (trans.getInstant().isBefore(end)) {
+            assertEquals(test.getOffset(trans.getInstant().minusSeconds(1)), trans.getOffsetBefore());
+            assertEquals(test.getOffset(trans.getInstant()), trans.getOffsetAfter());
+            trans = test.nextTransition(trans.getInstant());
+        }
+        assertEquals(test.getOffset(createInstant(2100, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2101, 1, 1, ZoneOffset.UTC)), OFFSET_ZERO);
+        assertEquals(test.getOffset(createInstant(2101, 7, 1, ZoneOffset.UTC)), OFFSET_PONE);
+    }
+
     public void test_London_getOffsetInfo() {
         ZoneRules test = europeLondon();
         checkOffset(test, createLDT(2008, 1, 1), OFFSET_ZERO, 1);
@@ -250,6 +268,33 @@ public class TestStandardZoneRules {
         assertEquals(trans.hashCode(), otherTrans.hashCode());
     }
 
+    public void test_London_getOffsetInfo_historicGapOverlap() {
+        ZoneRules test = europeLondon();
+        LocalDateTime gap = LocalDateTime.of(1990, 3, 25, 1, 30);
+        ZoneOffsetTransition gapTrans = test.getTransition(gap);
+        assertEquals(gapTrans.isGap(), true);
+        assertEquals(gapTrans.getInstant(), createInstant(1990, 3, 25, 1, 0, ZoneOffset.UTC));
+        assertSame(test.getTransition(gap), gapTrans);
+        assertEquals(test.getValidOffsets(gap).size(), 0);
+        assertEquals(test.isValidOffset(gap, OFFSET_ZERO), false);
+
+        LocalDateTime overlap = LocalDateTime.of(1990, 10, 28, 1, 0, 0, 1);
+        ZoneOffsetTransition overlapTrans = test.getTransition(overlap);
+        assertEquals(overlapTrans.isOverlap(), true);
+        assertEquals(overlapTrans.getInstant(), createInstant(1990, 10, 28, 1, 0, ZoneOffset.UTC));
+        assertSame(test.getTransition(overlap), overlapTrans);
+        assertEquals(test.getValidOffsets(overlap), Arrays.asList(OFFSET_PONE, OFFSET_ZERO));
+        assertEquals(test.isValidOffset(overlap, OFFSET_ZERO), true);
+        assertEquals(test.isValidOffset(overlap, OFFSET_PONE), true);
+        assertEquals(test.isValidOffset(overlap, OFFSET_PTWO), false);
+
+        LocalDateTime normal = LocalDateTime.of(1990, 10, 28, 2, 0);
+        assertEquals(test.getTransition(normal), null);
+        assertEquals(test.getValidOffsets(normal), Collections.singletonList(OFFSET_ZERO));
+        assertEquals(test.isValidOffset(normal, OFFSET_ZERO), true);
+        assertEquals(test.isValidOffset(normal, OFFSET_PONE), false);
+    }
+
     public void test_London_getOffsetInfo_overlap() {
         ZoneRules test = europeLondon();
         final LocalDateTime dateTime = LocalDateTime.of(2008, 10, 26, 1, 0, 0, 0);
@@ -675,6 +720,16 @@ public class TestStandardZoneRules {
         return ZoneId.of("Europe/Paris").getRules();
     }
 
+    public void test_Paris_lastRulesSharedWithBerlin() {
+        ZoneRules test = europeParis();
+        ZoneRules berlin = ZoneId.of("Europe/Berlin").getRules();
+        assertEquals(test.getTransitionRules(), berlin.getTransitionRules());
+        LocalDateTime gap = LocalDateTime.of(2060, 3, 28, 2, 30);
+        ZoneOffsetTransition trans = test.getTransition(gap);
+        assertEquals(trans.isGap(), true);
+        assertSame(berlin.getTransition(gap), trans);
+    }
+
     public void test_Paris() {
         ZoneRules test = europeParis();
         assertEquals(test.isFixedOffset(), false);
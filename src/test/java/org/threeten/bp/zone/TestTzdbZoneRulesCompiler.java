@@ -32,19 +32,30 @@
 package org.threeten.bp.zone;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 import org.threeten.bp.DayOfWeek;
+import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
 import org.threeten.bp.LocalTime;
 import org.threeten.bp.Month;
 import org.threeten.bp.Year;
+import org.threeten.bp.ZoneOffset;
 import org.threeten.bp.zone.TzdbZoneRulesCompiler.LeapSecondRule;
 import org.threeten.bp.zone.TzdbZoneRulesCompiler.TZDBMonthDayTime;
 import org.threeten.bp.zone.TzdbZoneRulesCompiler.TZDBRule;
@@ -470,4 +481,102 @@ public class TestTzdbZoneRulesCompiler {
         }
     }
 
+    //-----------------------------------------------------------------------
+    // compile()
+    //-----------------------------------------------------------------------
+    private static final String EU_RULES =
+            "Rule EU 1977 1980 - Apr Sun>=1 1:00u 1:00 S\n" +
+            "Rule EU 1977 only - Sep lastSun 1:00u 0 -\n" +
+            "Rule EU 1978 only - Oct 1 1:00u 0 -\n" +
+            "Rule EU 1979 1995 - Sep lastSun 1:00u 0 -\n" +
+            "Rule EU 1981 max - Mar lastSun 1:00u 1:00 S\n" +
+            "Rule EU 1996 max - Oct lastSun 1:00u 0 -\n";
+    private static final String ZONES =
+            "Zone Europe/Paris 0:09:21 - LMT 1891 Mar 15 0:01\n" +
+            "\t\t\t1:00 - CET 1977\n" +
+            "\t\t\t1:00 EU CE%sT\n" +
+            "Zone Europe/Madrid -0:14:44 - LMT 1901 Jan 1 0:00u\n" +
+            "\t\t\t0:00 - WET 1979 # comment\n" +
+            "\t\t\t1:00 EU CE%sT\n" +
+            "Link Europe/Paris Europe/Monaco\n";
+
+    @Test
+    public void test_compile_parallel() throws Exception {
+        File dir = createSourceDir(EU_RULES + ZONES);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            TzdbZoneRulesCompiler base = new TzdbZoneRulesCompiler("2010c", sourceFiles(dir), new File(dir, "leapseconds"), false);
+            base.compile();
+            TzdbZoneRulesCompiler test = new TzdbZoneRulesCompiler("2010c", sourceFiles(dir), new File(dir, "leapseconds"), false);
+            test.setDeduplicateMap(new ConcurrentHashMap<Object, Object>());
+            test.setExecutor(executor);
+            test.compile();
+            assertEquals(test.getZones(), base.getZones());
+            assertEquals(new ArrayList<String>(test.getZones().keySet()), Arrays.asList("Europe/Madrid", "Europe/Monaco", "Europe/Paris"));
+            assertSame(test.getZones().get("Europe/Monaco"), test.getZones().get("Europe/Paris"));
+        } finally {
+            executor.shutdown();
+            deleteSourceDir(dir);
+        }
+    }
+
+    @Test
+    public void test_compile_incremental() throws Exception {
+        File dir1 = createSourceDir(EU_RULES + ZONES);
+        File dir2 = createSourceDir(EU_RULES + ZONES.replace("-0:14:44", "-0:14:45"));
+        try {
+            Map<String, ZoneRules> buildCache = new ConcurrentHashMap<String, ZoneRules>();
+            TzdbZoneRulesCompiler first = new TzdbZoneRulesCompiler("2010c", sourceFiles(dir1), new File(dir1, "leapseconds"), false);
+            first.setBuildCache(buildCache);
+            first.compile();
+            assertEquals(buildCache.size(), 2);
+            TzdbZoneRulesCompiler second = new TzdbZoneRulesCompiler("2010d", sourceFiles(dir2), new File(dir2, "leapseconds"), false);
+            second.setBuildCache(buildCache);
+            second.compile();
+            assertEquals(buildCache.size(), 3);
+
+            SortedMap<String, ZoneRules> firstZones = first.getZones();
+            SortedMap<String, ZoneRules> secondZones = second.getZones();
+            assertSame(secondZones.get("Europe/Paris"), firstZones.get("Europe/Paris"));
+            assertEquals(secondZones.get("Europe/Madrid").equals(firstZones.get("Europe/Madrid")), false);
+            assertEquals(secondZones.get("Europe/Madrid").getStandardOffset(Instant.ofEpochSecond(-3000000000L)),
+                    ZoneOffset.ofHoursMinutesSeconds(0, -14, -45));
+
+            TzdbZoneRulesCompiler full = new TzdbZoneRulesCompiler("2010d", sourceFiles(dir2), new File(dir2, "leapseconds"), false);
+            full.compile();
+            assertEquals(secondZones, full.getZones());
+        } finally {
+            deleteSourceDir(dir1);
+            deleteSourceDir(dir2);
+        }
+    }
+
+    private static File createSourceDir(String europe) throws IOException {
+        File dir = File.createTempFile("tzdb", "");
+        dir.delete();
+        dir.mkdir();
+        writeFile(new File(dir, "europe"), europe);
+        writeFile(new File(dir, "leapseconds"), "Leap\t1972\tJun\t30\t23:59:60\t+\tS\n");
+        return dir;
+    }
+
+    private static void writeFile(File file, String content) throws IOException {
+        FileWriter out = new FileWriter(file);
+        try {
+            out.write(content);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static ArrayList<File> sourceFiles(File dir) {
+        return new ArrayList<File>(Arrays.asList(new File(dir, "europe")));
+    }
+
+    private static void deleteSourceDir(File dir) {
+        new File(dir, "europe").delete();
+        new File(dir, "leapseconds").delete();
+        dir.delete();
+    }
+
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test TzdbZoneRulesProvider.
+ */
+@Test
+public class TestTzdbZoneRulesProvider {
+
+    private static final URL TZDB = TzdbZoneRulesProvider.class.getResource("/org/threeten/bp/TZDB.dat");
+
+    //-----------------------------------------------------------------------
+    public void test_url_matchesDefault() {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(TZDB);
+        assertMatchesDefault(test);
+    }
+
+    public void test_stream_matchesDefault() throws IOException {
+        InputStream in = TZDB.openStream();
+        try {
+            TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(in);
+            assertMatchesDefault(test);
+        } finally {
+            in.close();
+        }
+    }
+
+    private void assertMatchesDefault(TzdbZoneRulesProvider test) {
+        assertEquals(test.provideZoneIds(), ZoneRulesProvider.getAvailableZoneIds());
+        for (String zoneId : test.provideZoneIds()) {
+            assertEquals(test.provideRules(zoneId, false), ZoneRulesProvider.getRules(zoneId, false));
+        }
+    }
+
+    public void test_rules_decodedOnce() {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(TZDB);
+        ZoneRules rules = test.provideRules("Europe/London", false);
+        assertSame(test.provideRules("Europe/London", false), rules);
+    }
+
+    public void test_rules_counters() {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(TZDB);
+        assertEquals(test.getRulesHitCount(), 0);
+        assertEquals(test.getRulesDecodeCount(), 0);
+        test.provideRules("Europe/London", false);
+        assertEquals(test.getRulesHitCount(), 0);
+        assertEquals(test.getRulesDecodeCount(), 1);
+        test.provideRules("Europe/London", false);
+        test.provideRules("GB", false);
+        assertEquals(test.getRulesHitCount(), 2);
+        assertEquals(test.getRulesDecodeCount(), 1);
+        try {
+            test.provideRules("Europe/Lon", false);
+            fail();
+        } catch (ZoneRulesException ex) {
+            // expected
+        }
+        assertEquals(test.getRulesHitCount(), 2);
+        assertEquals(test.getRulesDecodeCount(), 1);
+    }
+
+    public void test_rules_counters_multipleThreads() throws Exception {
+        final TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(TZDB);
+        test.provideRules("Europe/London", false);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        test.provideRules("Europe/London", false);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(test.getRulesHitCount(), 4000);
+        assertEquals(test.getRulesDecodeCount(), 1);
+    }
+
+    public void test_rules_sharedBetweenRegionsAndVersions() throws Exception {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(TZDB);
+        ZoneRules rules = test.provideRules("Europe/London", false);
+        assertSame(test.provideRules("GB", false), rules);
+        for (ZoneRules versionRules : test.provideVersions("Europe/London").values()) {
+            if (versionRules.equals(rules)) {
+                assertSame(versionRules, rules);
+            }
+        }
+    }
+
+    public void test_rules_notSharedBetweenProviders() throws Exception {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(TZDB);
+        TzdbZoneRulesProvider columnar = new TzdbZoneRulesProvider(
+                new ByteArrayInputStream(writeDat(TzdbZoneRulesProvider.FORMAT_COLUMNAR)));
+        ZoneRules rules = test.provideRules("Europe/London", false);
+        assertEquals(columnar.provideRules("Europe/London", false), rules);
+        assertNotSame(columnar.provideRules("Europe/London", false), rules);
+        assertNotSame(new TzdbZoneRulesProvider(TZDB).provideRules("Europe/London", false), rules);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_columnar_matchesDefault() throws Exception {
+        byte[] bytes = writeDat(TzdbZoneRulesProvider.FORMAT_COLUMNAR);
+        assertEquals(bytes[0], TzdbZoneRulesProvider.FORMAT_COLUMNAR);
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(new ByteArrayInputStream(bytes));
+        assertMatchesDefault(test);
+        assertEquals(test.provideVersions("Europe/London").keySet(), ZoneRulesProvider.getVersions("Europe/London").keySet());
+    }
+
+    public void test_columnar_mapped() throws Exception {
+        File file = File.createTempFile("TZDB", ".dat");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(writeDat(TzdbZoneRulesProvider.FORMAT_COLUMNAR));
+            } finally {
+                out.close();
+            }
+            assertMatchesDefault(new TzdbZoneRulesProvider(file.toURI().toURL()));
+        } finally {
+            file.delete();
+        }
+    }
+
+    public void test_serialized_matchesDefault() throws Exception {
+        byte[] bytes = writeDat(TzdbZoneRulesProvider.FORMAT_SERIALIZED);
+        assertEquals(bytes[0], TzdbZoneRulesProvider.FORMAT_SERIALIZED);
+        assertMatchesDefault(new TzdbZoneRulesProvider(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test(expectedExceptions=ZoneRulesException.class)
+    public void test_columnar_badPosition() throws Exception {
+        byte[] bytes = writeDat(TzdbZoneRulesProvider.FORMAT_COLUMNAR);
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes, 0, bytes.length / 2);
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(in);
+        for (String zoneId : test.provideZoneIds()) {
+            test.provideRules(zoneId, false);
+        }
+    }
+
+    private static byte[] writeDat(int format) throws Exception {
+        SortedMap<String, ZoneRules> zones = new TreeMap<String, ZoneRules>();
+        for (String zoneId : ZoneRulesProvider.getAvailableZoneIds()) {
+            zones.put(zoneId, ZoneRulesProvider.getRules(zoneId, false));
+        }
+        Map<String, SortedMap<String, ZoneRules>> allZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        allZones.put(ZoneRulesProvider.getVersions("Europe/London").lastKey(), zones);
+        Set<ZoneRules> allRules = new HashSet<ZoneRules>(zones.values());
+        Method method = TzdbZoneRulesCompiler.class.getDeclaredMethod(
+                "outputTzdbDat", OutputStream.class, Map.class, Set.class, Set.class, Integer.TYPE);
+        method.setAccessible(true);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        method.invoke(null, baos, allZones, new TreeSet<String>(zones.keySet()), allRules, format);
+        return baos.toByteArray();
+    }
+
+    @Test(expectedExceptions=ZoneRulesException.class)
+    public void test_stream_truncated() throws IOException {
+        InputStream in = TZDB.openStream();
+        byte[] bytes = new byte[1024];
+        int length = 0;
+        try {
+            length = in.read(bytes);
+        } finally {
+            in.close();
+        }
+        new TzdbZoneRulesProvider(new ByteArrayInputStream(bytes, 0, length));
+    }
+
+    @Test(expectedExceptions=ZoneRulesException.class)
+    public void test_stream_invalid() {
+        new TzdbZoneRulesProvider(new ByteArrayInputStream(new byte[] {2, 0, 4, 'T', 'Z', 'D', 'B'}));
+    }
+
+}
@@ -36,6 +36,7 @@ import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.NavigableMap;
@@ -43,6 +44,7 @@ import java.util.Set;
 import java.util.TreeMap;
 
 import org.testng.annotations.Test;
+import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZoneOffset;
 
 /**
@@ -124,6 +126,17 @@ public class TestZoneRulesProvider {
         assertEquals(ZoneRulesProvider.refresh(), false);
     }
 
+    @Test
+    public void test_refresh_reloadsCachedZoneId() {
+        MockRefreshProvider provider = new MockRefreshProvider();
+        ZoneRulesProvider.registerProvider(provider);
+        assertEquals(ZoneId.of("RefreshLocation").getRules(), ZoneOffset.of("+01:00").getRules());
+        assertEquals(ZoneId.of("RefreshLocation").getRules(), ZoneOffset.of("+01:00").getRules());
+        assertEquals(ZoneRulesProvider.refresh(), true);
+        assertEquals(ZoneId.of("RefreshLocation").getRules(), ZoneOffset.of("+02:00").getRules());
+        assertEquals(ZoneRulesProvider.getRules("RefreshLocation", false), ZoneOffset.of("+02:00").getRules());
+    }
+
     //-----------------------------------------------------------------------
     // registerProvider()
     //-----------------------------------------------------------------------
@@ -138,6 +151,25 @@ public class TestZoneRulesProvider {
         assertEquals(ZoneRulesProvider.getRules("FooLocation", false), ZoneOffset.of("+01:45").getRules());
     }
 
+    @Test
+    public void test_registerProvider_duplicateRegistersNothing() {
+        try {
+            ZoneRulesProvider.registerProvider(new MockDuplicateProvider());
+            fail();
+        } catch (ZoneRulesException ex) {
+            // expected
+        }
+        assertEquals(ZoneRulesProvider.getAvailableZoneIds().contains("BazLocation"), false);
+        assertEquals(ZoneRulesProvider.getRules("Europe/London", false), ZoneId.of("Europe/London").getRules());
+    }
+
+    static class MockDuplicateProvider extends MockTempProvider {
+        @Override
+        public Set<String> provideZoneIds() {
+            return new HashSet<String>(Arrays.asList("BazLocation", "Europe/London"));
+        }
+    }
+
     static class MockTempProvider extends ZoneRulesProvider {
         final ZoneRules rules = ZoneOffset.of("+01:45").getRules();
         @Override
@@ -159,4 +191,35 @@ public class TestZoneRulesProvider {
         }
     }
 
+    static class MockRefreshProvider extends ZoneRulesProvider {
+        volatile ZoneRules rules = ZoneOffset.of("+01:00").getRules();
+        @Override
+        public Set<String> provideZoneIds() {
+            return new HashSet<String>(Collections.singleton("RefreshLocation"));
+        }
+        @Override
+        protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+            NavigableMap<String, ZoneRules> result = new TreeMap<String, ZoneRules>();
+            result.put("RefreshVersion", rules);
+            return result;
+        }
+        @Override
+        protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+            if (zoneId.equals("RefreshLocation")) {
+                return rules;
+            }
+            throw new ZoneRulesException("Invalid");
+        }
+        @Override
+        protected boolean provideRefresh() {
+            // only the first refresh changes the rules, leaving later refreshes unchanged
+            ZoneRules refreshed = ZoneOffset.of("+02:00").getRules();
+            if (rules.equals(refreshed)) {
+                return false;
+            }
+            rules = refreshed;
+            return true;
+        }
+    }
+
 }